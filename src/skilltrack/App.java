@@ -1,5 +1,6 @@
 package skilltrack;
 
+import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import skilltrack.controller.SkillController;
 import skilltrack.model.SkillStore;
@@ -7,10 +8,20 @@ import skilltrack.view.MainFrame;
 
 public class App {
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            SkillStore store = new SkillStore();
+        // Load on the main thread (parallel parse) so the EDT is free while the file is read
+        SkillStore store = new SkillStore();
+        try {
             store.loadFromDisk();
+        } catch (IllegalStateException e) {
+            // Damaged data: stop before anything could save over it
+            JOptionPane.showMessageDialog(null, e.getMessage(), "Cannot load skills", JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+        }
+
+        // Drain queued journal writes before the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(store::close));
 
+        SwingUtilities.invokeLater(() -> {
             SkillController controller = new SkillController(store);
 
             MainFrame frame = new MainFrame(controller);
@@ -1,13 +1,23 @@
 package skilltrack.controller;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
+import skilltrack.model.ImportResult;
+import skilltrack.model.ProficiencyLevel;
 import skilltrack.model.Skill;
+import skilltrack.model.SkillBatch;
+import skilltrack.model.SkillChangeListener;
+import skilltrack.model.SkillQuery;
+import skilltrack.model.SkillStats;
 import skilltrack.model.SkillStore;
+import skilltrack.model.SkillVector;
 import skilltrack.util.MergeSort;
 import skilltrack.util.SearchUtils;
+import skilltrack.util.TopK;
 
 public class SkillController {
 
@@ -18,10 +28,15 @@ public class SkillController {
     }
 
     // ---------- Basic info ----------
+    // Immutable snapshot of every skill (see SkillStore.snapshot)
     public List<Skill> getAllSkills() {
         return store.getAllSkills();
     }
 
+    public SkillVector.Snapshot snapshot() {
+        return store.snapshot();
+    }
+
     public int getTotalSkills() {
         return store.totalSkills();
     }
@@ -30,10 +45,33 @@ public class SkillController {
         return store.categoryStats();
     }
 
+    public int getCategoryCount() {
+        return store.categoryCount();
+    }
+
+    public SkillStats.Snapshot getStats() {
+        return store.statsSnapshot();
+    }
+
     public List<Skill> getRecentlyAdded() {
         return store.getRecentlyAdded();
     }
 
+    // Facet count from the bitmap indexes, e.g. facetCount("Cloud", EXPERT, true); null = any
+    public int facetCount(String category, ProficiencyLevel level, Boolean hasCertification) {
+        return store.facetCount(category, level, hasCertification);
+    }
+
+    // ---------- Change events ----------
+    // Views register here (wrapped in a SwingChangeRelay) to follow store changes
+    public void addChangeListener(SkillChangeListener l) {
+        store.addChangeListener(l);
+    }
+
+    public void removeChangeListener(SkillChangeListener l) {
+        store.removeChangeListener(l);
+    }
+
     // ---------- CRUD ----------
     public void addSkill(Skill s) {
         store.addSkill(s);
@@ -47,43 +85,138 @@ public class SkillController {
         store.deleteSkill(id);
     }
 
-    // ---------- Undo ----------
+    // ---------- Batch transactions ----------
+    // All steps or none; one journal unit, one undo entry, one event batch
+    public void apply(SkillBatch batch) {
+        store.apply(batch);
+    }
+
+    public void deleteAll(List<String> ids) {
+        SkillBatch batch = new SkillBatch();
+        for (String id : ids) batch.delete(id);
+        store.apply(batch);
+    }
+
+    // Returns how many skills moved
+    public int recategorize(String from, String to) {
+        return store.recategorize(from, to);
+    }
+
+    // ---------- Bulk import ----------
+    // One write, one persistence flush, one undo entry; bad rows come back as rejects
+    public ImportResult addAll(List<Skill> skills) {
+        return store.addAll(skills);
+    }
+
+    public ImportResult importCsv(Path source) throws IOException {
+        return store.importCsv(source);
+    }
+
+    // ---------- Undo / redo ----------
     public boolean canUndo() {
         return store.canUndo();
     }
 
+    public boolean canRedo() {
+        return store.canRedo();
+    }
+
     public void undo() {
         store.undo();
     }
 
-    // ---------- Sorting (Merge Sort) ----------
+    public void redo() {
+        store.redo();
+    }
+
+    // ---------- Export ----------
+    public void exportCsv(Path target) throws IOException {
+        store.exportCsv(target);
+    }
+
+    // ---------- Sorting (served from the store's ordered indexes) ----------
     public List<Skill> sortByName(boolean ascending) {
-        Comparator<Skill> cmp = Comparator.comparing(s -> s.getName().toLowerCase());
-        if (!ascending) cmp = cmp.reversed();
-        return MergeSort.sort(store.getAllSkills(), cmp);
+        return store.sortedByName(ascending);
     }
 
     public List<Skill> sortByYear(boolean ascending) {
-        Comparator<Skill> cmp = Comparator.comparingInt(Skill::getYearLearned);
-        if (!ascending) cmp = cmp.reversed();
+        return store.sortedByYear(ascending);
+    }
+
+    // Any other order (Merge Sort)
+    public List<Skill> sort(Comparator<Skill> cmp) {
         return MergeSort.sort(store.getAllSkills(), cmp);
     }
 
+    // First k in that order (bounded heap, O(n log k))
+    public List<Skill> topK(Comparator<Skill> cmp, int k) {
+        return TopK.topK(store.getAllSkills(), cmp, k);
+    }
+
+    // Sorted slice [offset, offset + limit)
+    public List<Skill> page(Comparator<Skill> cmp, int offset, int limit) {
+        return TopK.page(store.getAllSkills(), cmp, offset, limit);
+    }
+
     // ---------- Searches ----------
-    // Linear search for partial matches (name/category/certification)
+    // Partial matches (name/category/certification) via the store's trigram index
     public List<Skill> searchPartial(String query) {
-        return SearchUtils.partialSkillSearchLinear(store.getAllSkills(), query);
+        return store.searchPartial(query);
+    }
+
+    // Narrows earlier results to a longer query (no index lookup needed)
+    public List<Skill> refinePartial(List<Skill> previousResults, String query) {
+        return SearchUtils.partialSkillSearchLinear(previousResults, query);
+    }
+
+    // Typo-tolerant name search (edit distance over the name trie), closest matches first.
+    // Allowed edits grow with the query: 1 up to 4 chars, 2 up to 8, then 3.
+    public List<Skill> searchFuzzy(String query) {
+        int len = query == null ? 0 : query.trim().length();
+        int maxDistance = len <= 4 ? 1 : (len <= 8 ? 2 : 3);
+        return store.searchFuzzy(query, maxDistance);
+    }
+
+    public List<Skill> searchFuzzy(String query, int maxDistance) {
+        return store.searchFuzzy(query, maxDistance);
+    }
+
+    // Combined filters (category, min level, years, certification, text) + sort + limit;
+    // the store picks the most selective index to start from
+    public List<Skill> query(SkillQuery q) {
+        return store.query(q);
     }
 
-    // Binary exact search by Name (requires sorted list)
+    // Exact search by Name (O(log n) lookup in the name index)
     public Skill searchExactByNameBinary(String exactName) {
-        List<Skill> sorted = sortByName(true);
-        return SearchUtils.exactByNameBinary(sorted, exactName);
+        return store.findByName(exactName);
     }
 
-    // Binary exact search by Year (requires sorted list)
+    // Exact search by Year (O(log n) lookup in the year index)
     public Skill searchExactByYearBinary(int year) {
-        List<Skill> sorted = sortByYear(true);
-        return SearchUtils.exactByYearBinary(sorted, year);
+        return store.findByYear(year);
+    }
+
+    // ---------- Autocomplete (prefix tries) ----------
+    public List<String> completeName(String prefix, int k) {
+        return store.completeName(prefix, k);
+    }
+
+    public List<String> completeCategory(String prefix, int k) {
+        return store.completeCategory(prefix, k);
+    }
+
+    // Existing skill with the same Name + Category (ignoring exceptId), or null
+    public Skill findDuplicate(String name, String category, String exceptId) {
+        return store.findDuplicate(name, category, exceptId);
+    }
+
+    // ---------- Year ranges (ordered year index) ----------
+    public List<Skill> skillsFromYear(int year) {
+        return store.skillsFromYear(year);
+    }
+
+    public List<Skill> skillsLearnedBetween(int fromYear, int toYear) {
+        return store.skillsLearnedBetween(fromYear, toYear);
     }
 }
@@ -0,0 +1,217 @@
+package skilltrack.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Binary snapshot of the store (written by checkpoints, read on startup).
+//
+// Header (32 bytes): magic "SKTR", version, record count, dictionary size,
+//                    payload length, CRC32 of the payload
+// Payload:           dictionary   (category + certification strings, length-prefixed UTF-8)
+//                    category[]   int index into the dictionary
+//                    cert[]       int index into the dictionary, -1 = none
+//                    year[]       int
+//                    level[]      byte (ProficiencyLevel ordinal)
+//                    id, name     length-prefixed UTF-8 per record
+public class BinarySnapshot {
+
+    private static final int MAGIC = 0x534B5452; // "SKTR"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    // Columns captured from the store (Strings are immutable, so no per-row copies)
+    private final String[] ids;
+    private final String[] names;
+    private final String[] categories;
+    private final String[] certs;
+    private final int[] years;
+    private final byte[] levels;
+
+    private BinarySnapshot(int n) {
+        ids = new String[n];
+        names = new String[n];
+        categories = new String[n];
+        certs = new String[n];
+        years = new int[n];
+        levels = new byte[n];
+    }
+
+    // Cheap copy of the current rows; the snapshot can then be written on another thread
+    public static BinarySnapshot capture(List<Skill> skills) {
+        BinarySnapshot snap = new BinarySnapshot(skills.size());
+        for (int i = 0; i < skills.size(); i++) {
+            Skill s = skills.get(i);
+            snap.ids[i] = s.getId();
+            snap.names[i] = s.getName();
+            snap.categories[i] = s.getCategory();
+            snap.certs[i] = s.getCertification();
+            snap.years[i] = s.getYearLearned();
+            snap.levels[i] = (byte) s.getLevel().ordinal();
+        }
+        return snap;
+    }
+
+    // ---------- Write ----------
+    public void write(Path path) throws IOException {
+        int n = ids.length;
+
+        // Dictionary-encode categories and certifications
+        HashMap<String, Integer> dictIndex = new HashMap<>();
+        ArrayList<byte[]> dict = new ArrayList<>();
+        int[] catIdx = new int[n];
+        int[] certIdx = new int[n];
+        long dictBytes = 0;
+        for (int i = 0; i < n; i++) {
+            catIdx[i] = intern(categories[i] == null ? "" : categories[i], dictIndex, dict);
+            certIdx[i] = certs[i] == null ? -1 : intern(certs[i], dictIndex, dict);
+        }
+        for (byte[] d : dict) dictBytes += 4 + d.length;
+
+        byte[][] idBytes = new byte[n][];
+        byte[][] nameBytes = new byte[n][];
+        long textBytes = 0;
+        for (int i = 0; i < n; i++) {
+            idBytes[i] = utf8(ids[i]);
+            nameBytes[i] = utf8(names[i]);
+            textBytes += 8 + idBytes[i].length + nameBytes[i].length;
+        }
+
+        long payload = dictBytes + 12L * n + n + textBytes;
+        if (HEADER_BYTES + payload > Integer.MAX_VALUE) throw new IOException("Snapshot too large");
+
+        ByteBuffer buf = ByteBuffer.allocate((int) (HEADER_BYTES + payload));
+        buf.position(HEADER_BYTES);
+        for (byte[] d : dict) {
+            buf.putInt(d.length).put(d);
+        }
+        buf.asIntBuffer().put(catIdx);
+        buf.position(buf.position() + 4 * n);
+        buf.asIntBuffer().put(certIdx);
+        buf.position(buf.position() + 4 * n);
+        buf.asIntBuffer().put(years);
+        buf.position(buf.position() + 4 * n);
+        buf.put(levels);
+        for (int i = 0; i < n; i++) {
+            buf.putInt(idBytes[i].length).put(idBytes[i]);
+            buf.putInt(nameBytes[i].length).put(nameBytes[i]);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), HEADER_BYTES, (int) payload);
+
+        buf.position(0);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(dict.size())
+           .putLong(payload).putLong(crc.getValue());
+        buf.position(0);
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(false);
+        }
+        // The replaced snapshot is kept for one more generation, in case this one gets damaged
+        if (Files.exists(path)) {
+            Files.move(path, previous(path), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Where write(path) keeps the snapshot it replaced
+    public static Path previous(Path path) {
+        return path.resolveSibling(path.getFileName() + ".prev");
+    }
+
+    // ---------- Read ----------
+    // Throws IOException if the file is truncated, from another version or fails the checksum
+    public static List<Skill> read(Path path) throws IOException {
+        ByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_BYTES) throw new IOException("Snapshot truncated");
+            if (size > Integer.MAX_VALUE) throw new IOException("Snapshot too large");
+
+            buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining()) {
+                if (ch.read(buf) < 0) throw new IOException("Snapshot truncated");
+            }
+            buf.flip();
+        }
+
+        if (buf.getInt() != MAGIC) throw new IOException("Not a SkillTrack snapshot");
+        int version = buf.getInt();
+        if (version != VERSION) throw new IOException("Unsupported snapshot version " + version);
+        int n = buf.getInt();
+        int dictSize = buf.getInt();
+        long payload = buf.getLong();
+        long expectedCrc = buf.getLong();
+        if (n < 0 || dictSize < 0 || payload != buf.limit() - HEADER_BYTES) {
+            throw new IOException("Snapshot header is corrupt");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), HEADER_BYTES, (int) payload);
+        if (crc.getValue() != expectedCrc) throw new IOException("Snapshot checksum mismatch");
+
+        try {
+            byte[] raw = buf.array();
+            String[] dict = new String[dictSize];
+            for (int i = 0; i < dictSize; i++) {
+                int len = buf.getInt();
+                dict[i] = new String(raw, buf.position(), len, StandardCharsets.UTF_8);
+                buf.position(buf.position() + len);
+            }
+
+            int[] catIdx = new int[n];
+            int[] certIdx = new int[n];
+            int[] years = new int[n];
+            byte[] levels = new byte[n];
+            buf.asIntBuffer().get(catIdx);
+            buf.position(buf.position() + 4 * n);
+            buf.asIntBuffer().get(certIdx);
+            buf.position(buf.position() + 4 * n);
+            buf.asIntBuffer().get(years);
+            buf.position(buf.position() + 4 * n);
+            buf.get(levels);
+
+            ProficiencyLevel[] levelValues = ProficiencyLevel.values();
+            ArrayList<Skill> out = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int len = buf.getInt();
+                String id = new String(raw, buf.position(), len, StandardCharsets.UTF_8);
+                buf.position(buf.position() + len);
+                len = buf.getInt();
+                String name = new String(raw, buf.position(), len, StandardCharsets.UTF_8);
+                buf.position(buf.position() + len);
+
+                out.add(new Skill(id, name, dict[catIdx[i]], levelValues[levels[i]], years[i],
+                        certIdx[i] < 0 ? null : dict[certIdx[i]]));
+            }
+            return out;
+        } catch (RuntimeException e) { // bad index / length despite a matching checksum
+            throw new IOException("Snapshot payload is corrupt", e);
+        }
+    }
+
+    private static int intern(String s, HashMap<String, Integer> index, ArrayList<byte[]> dict) {
+        Integer i = index.get(s);
+        if (i != null) return i;
+        index.put(s, dict.size());
+        dict.add(utf8(s));
+        return dict.size() - 1;
+    }
+
+    private static byte[] utf8(String s) {
+        return (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,216 @@
+package skilltrack.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import skilltrack.util.CsvTokenizer;
+
+// Parallel loader for the CSV snapshot.
+// The file is memory-mapped and cut into segments; each segment is parsed on the
+// ForkJoin pool and the per-segment lists are concatenated in file order.
+//
+// A segment owns every record that *starts* inside it. Where a record starts depends
+// on whether the segment boundary falls inside a quoted field, so a first parallel
+// pass counts quote characters per segment ("" escapes count twice, so parity holds).
+public class CsvSnapshotLoader {
+
+    private static final long MIN_SEGMENT_BYTES = 1 << 20;   // below this, one thread is faster
+    private static final long MAX_SEGMENT_BYTES = 256L << 20; // keeps every mapping well under 2 GB
+    private static final long MAX_RECORD_BYTES = 64L << 20;   // mapping slack past a segment's end
+
+    private final ForkJoinPool pool;
+    private int badRows = 0;
+
+    public CsvSnapshotLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public CsvSnapshotLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Rows that were skipped (missing fields / invalid year) during the last load
+    public int badRows() {
+        return badRows;
+    }
+
+    public List<Skill> load(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size == 0) return new ArrayList<>();
+
+            int parallelism = Math.max(1, pool.getParallelism());
+            long segBytes = Math.max(MIN_SEGMENT_BYTES, size / (parallelism * 4L));
+            segBytes = Math.min(segBytes, MAX_SEGMENT_BYTES);
+            int segCount = (int) ((size + segBytes - 1) / segBytes);
+
+            long[] starts = new long[segCount + 1];
+            for (int i = 0; i < segCount; i++) starts[i] = i * segBytes;
+            starts[segCount] = size;
+
+            // Pass 1: quote state at each segment start
+            long[] quotes = pool.invoke(new QuoteCountTask(ch, starts, 0, segCount));
+            boolean[] inQuotes = new boolean[segCount];
+            long running = 0;
+            for (int i = 0; i < segCount; i++) {
+                inQuotes[i] = (running & 1) == 1;
+                running += quotes[i];
+            }
+
+            // Pass 2: parse segments in parallel, results kept in file order
+            Segment result = pool.invoke(new ParseTask(ch, starts, inQuotes, 0, segCount));
+            badRows = result.badRows;
+            return result.skills;
+        } catch (RuntimeException e) {
+            // ForkJoin may rethrow a wrapped copy, so look down the cause chain
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof IOException) throw (IOException) t;
+            }
+            throw e;
+        }
+    }
+
+    // ---------- Pass 1 ----------
+    private static final class QuoteCountTask extends RecursiveTask<long[]> {
+        private final FileChannel ch;
+        private final long[] starts;
+        private final int from, to;
+
+        QuoteCountTask(FileChannel ch, long[] starts, int from, int to) {
+            this.ch = ch;
+            this.starts = starts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            long[] out = new long[starts.length - 1];
+            if (to - from == 1) {
+                out[from] = countQuotes(from);
+                return out;
+            }
+            int mid = (from + to) >>> 1;
+            QuoteCountTask left = new QuoteCountTask(ch, starts, from, mid);
+            left.fork();
+            long[] right = new QuoteCountTask(ch, starts, mid, to).compute();
+            long[] l = left.join();
+            for (int i = from; i < to; i++) out[i] = (i < mid) ? l[i] : right[i];
+            return out;
+        }
+
+        private long countQuotes(int seg) {
+            MappedByteBuffer buf = map(ch, starts[seg], starts[seg + 1] - starts[seg]);
+            long n = 0;
+            for (int i = 0, len = buf.limit(); i < len; i++) {
+                if (buf.get(i) == '"') n++;
+            }
+            return n;
+        }
+    }
+
+    // ---------- Pass 2 ----------
+    private static final class Segment {
+        final ArrayList<Skill> skills;
+        int badRows;
+
+        Segment(ArrayList<Skill> skills, int badRows) {
+            this.skills = skills;
+            this.badRows = badRows;
+        }
+    }
+
+    private static final class ParseTask extends RecursiveTask<Segment> {
+        private final FileChannel ch;
+        private final long[] starts;
+        private final boolean[] inQuotes;
+        private final int from, to;
+
+        ParseTask(FileChannel ch, long[] starts, boolean[] inQuotes, int from, int to) {
+            this.ch = ch;
+            this.starts = starts;
+            this.inQuotes = inQuotes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Segment compute() {
+            if (to - from == 1) return parseSegment(from);
+
+            int mid = (from + to) >>> 1;
+            ParseTask left = new ParseTask(ch, starts, inQuotes, from, mid);
+            left.fork();
+            Segment right = new ParseTask(ch, starts, inQuotes, mid, to).compute();
+            Segment out = left.join();
+            out.skills.addAll(right.skills);
+            out.badRows += right.badRows;
+            return out;
+        }
+
+        private Segment parseSegment(int seg) {
+            long segStart = starts[seg];
+            long segEnd = starts[seg + 1];
+            long fileEnd = starts[starts.length - 1];
+            long mapLen = Math.min(fileEnd - segStart, (segEnd - segStart) + MAX_RECORD_BYTES);
+            MappedByteBuffer buf = map(ch, segStart, mapLen);
+
+            int ownedEnd = (int) (segEnd - segStart);
+            int limit = buf.limit();
+            int pos = 0;
+
+            // Skip the tail of a record owned by the previous segment
+            // (unless the segment happens to start exactly on a record)
+            if (seg > 0 && !(byteAt(ch, segStart - 1) == '\n' && !inQuotes[seg])) {
+                boolean quoted = inQuotes[seg];
+                while (pos < limit) {
+                    byte b = buf.get(pos++);
+                    if (b == '"') quoted = !quoted;
+                    else if (b == '\n' && !quoted) break;
+                }
+            }
+
+            ArrayList<Skill> out = new ArrayList<>();
+            int bad = 0;
+            CsvTokenizer t = new CsvTokenizer();
+            t.reset(buf, pos, limit);
+
+            while (t.position() < ownedEnd && t.nextRecord()) {
+                try {
+                    Skill s = SkillStore.readSkill(t);
+                    if (s != null) out.add(s);
+                    else if (t.length() > 0) bad++; // blank lines are not errors
+                } catch (IllegalArgumentException e) { // invalid year or level
+                    bad++;
+                }
+            }
+            return new Segment(out, bad);
+        }
+    }
+
+    private static byte byteAt(FileChannel ch, long pos) {
+        ByteBuffer one = ByteBuffer.allocate(1);
+        try {
+            ch.read(one, pos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return one.get(0);
+    }
+
+    private static MappedByteBuffer map(FileChannel ch, long start, long len) {
+        try {
+            return ch.map(FileChannel.MapMode.READ_ONLY, start, len);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package skilltrack.model;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import skilltrack.util.PrefixTrie;
+import skilltrack.util.RowBitmap;
+
+// Bitmap facets keyed by row number: normalized category, proficiency level, has-certification.
+// Any combination ("EXPERT in Cloud with a cert") is a few bitmap ANDs plus a cardinality,
+// and add/remove only touch the row's own bits (no list scans).
+public class FacetIndex {
+
+    private final HashMap<String, RowBitmap> byCategory = new HashMap<>(); // "" = no category
+    private final EnumMap<ProficiencyLevel, RowBitmap> byLevel = new EnumMap<>(ProficiencyLevel.class);
+    private final RowBitmap certified = new RowBitmap();
+    private int total = 0;
+
+    public FacetIndex() {
+        for (ProficiencyLevel p : ProficiencyLevel.values()) byLevel.put(p, new RowBitmap());
+    }
+
+    public void add(int row, Skill s) {
+        byCategory.computeIfAbsent(s.getCategoryKey(), k -> new RowBitmap()).add(row);
+        byLevel.get(s.getLevel()).add(row);
+        if (s.hasCertification()) certified.add(row);
+        total++;
+    }
+
+    public void remove(int row, Skill s) {
+        String key = s.getCategoryKey();
+        RowBitmap c = byCategory.get(key);
+        if (c != null) {
+            c.remove(row);
+            if (c.isEmpty()) byCategory.remove(key);
+        }
+        byLevel.get(s.getLevel()).remove(row);
+        certified.remove(row);
+        total--;
+    }
+
+    public void clear() {
+        byCategory.clear();
+        for (RowBitmap b : byLevel.values()) b.clear();
+        certified.clear();
+        total = 0;
+    }
+
+    // Rows in the category (already normalized), with from <= level <= to and the given
+    // certification state; null arguments match anything. Null if nothing is constrained.
+    // Always a bitmap of the caller's own: when a single facet answers the query, its
+    // bitmap is copied, so later adds / removes never show through a result.
+    public RowBitmap rows(String categoryKey, ProficiencyLevel from, ProficiencyLevel to, Boolean hasCert) {
+        RowBitmap out = select(categoryKey, from, to, hasCert);
+        return out != null && isIndexed(out, categoryKey) ? out.copy() : out;
+    }
+
+    // Same, but may return one of the index's own bitmaps (read it, never keep or change it)
+    private RowBitmap select(String categoryKey, ProficiencyLevel from, ProficiencyLevel to, Boolean hasCert) {
+        RowBitmap out = null;
+
+        if (categoryKey != null) {
+            out = byCategory.get(categoryKey);
+            if (out == null) return new RowBitmap();
+        }
+
+        if (from != null || to != null) {
+            RowBitmap levels = null;
+            for (Map.Entry<ProficiencyLevel, RowBitmap> e : byLevel.entrySet()) {
+                if (!inRange(e.getKey(), from, to)) continue;
+                levels = levels == null ? e.getValue() : RowBitmap.or(levels, e.getValue());
+            }
+            if (levels == null) return new RowBitmap();
+            out = out == null ? levels : RowBitmap.and(out, levels);
+        }
+
+        if (hasCert != null) {
+            if (hasCert) {
+                out = out == null ? certified : RowBitmap.and(out, certified);
+            } else {
+                out = RowBitmap.andNot(out == null ? allRows() : out, certified);
+            }
+        }
+        return out;
+    }
+
+    // Upper bound on rows(...).cardinality() from the facet sizes alone; -1 if nothing is constrained
+    public int estimate(String categoryKey, ProficiencyLevel from, ProficiencyLevel to, Boolean hasCert) {
+        int best = -1;
+        if (categoryKey != null) {
+            RowBitmap c = byCategory.get(categoryKey);
+            best = c == null ? 0 : c.cardinality();
+        }
+        if (from != null || to != null) {
+            int n = 0;
+            for (Map.Entry<ProficiencyLevel, RowBitmap> e : byLevel.entrySet()) {
+                if (inRange(e.getKey(), from, to)) n += e.getValue().cardinality();
+            }
+            best = best < 0 ? n : Math.min(best, n);
+        }
+        if (hasCert != null) {
+            int n = hasCert ? certified.cardinality() : total - certified.cardinality();
+            best = best < 0 ? n : Math.min(best, n);
+        }
+        return best;
+    }
+
+    // Skills matching every given facet (null = any); category is matched case-insensitively.
+    // The certification facet is applied as a counted AND, so nothing is built for it.
+    public int count(String category, ProficiencyLevel level, Boolean hasCert) {
+        String key = category == null ? null : PrefixTrie.normalize(category);
+        RowBitmap base = select(key, level, level, null);
+        int all = base == null ? total : base.cardinality();
+        if (hasCert == null) return all;
+
+        int withCert = base == null ? certified.cardinality() : RowBitmap.andCardinality(base, certified);
+        return hasCert ? withCert : all - withCert;
+    }
+
+    private boolean isIndexed(RowBitmap b, String categoryKey) {
+        if (b == certified || (categoryKey != null && b == byCategory.get(categoryKey))) return true;
+        for (RowBitmap l : byLevel.values()) {
+            if (b == l) return true;
+        }
+        return false;
+    }
+
+    private static boolean inRange(ProficiencyLevel p, ProficiencyLevel from, ProficiencyLevel to) {
+        return (from == null || p.compareTo(from) >= 0) && (to == null || p.compareTo(to) <= 0);
+    }
+
+    private RowBitmap allRows() {
+        RowBitmap all = new RowBitmap();
+        for (RowBitmap b : byLevel.values()) all = RowBitmap.or(all, b);
+        return all;
+    }
+}
@@ -0,0 +1,33 @@
+package skilltrack.model;
+
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of a bulk add / CSV import: how many skills went in, and why each other row did not
+public class ImportResult {
+
+    public final int added;
+    public final List<Reject> rejects; // in input order
+
+    ImportResult(int added, List<Reject> rejects) {
+        this.added = added;
+        this.rejects = Collections.unmodifiableList(rejects);
+    }
+
+    public static final class Reject {
+        public final int row;       // 1-based position in the input (list element, or CSV record)
+        public final Skill skill;   // null if the row could not be read
+        public final String reason;
+
+        Reject(int row, Skill skill, String reason) {
+            this.row = row;
+            this.skill = skill;
+            this.reason = reason;
+        }
+
+        @Override
+        public String toString() {
+            return "Row " + row + ": " + reason;
+        }
+    }
+}
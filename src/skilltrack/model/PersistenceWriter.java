@@ -0,0 +1,181 @@
+package skilltrack.model;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+// Background writer thread for the journal.
+// Bursts of records are merged into one append + fsync (group commit):
+// a batch is written when it reaches maxBatch records, when maxDelayMillis
+// has passed since the first record, or as soon as someone asks for durability.
+// A batch counts as written (see awaitDurable) only after the fsync has returned.
+public class PersistenceWriter {
+
+    // Full rewrite of the snapshot; runs on the writer thread
+    public interface Checkpoint {
+        void write() throws IOException;
+    }
+
+    private final SkillJournal journal;
+    private final long maxDelayMillis;
+    private final int maxBatch;
+
+    // Either a journal line (String) or a Checkpoint, in submit order
+    private final ArrayDeque<Object> pending = new ArrayDeque<>();
+    private long submitted = 0;
+    private long written = 0;
+    private long flushTarget = 0;
+    private boolean closed = false;
+    private Thread thread;
+
+    public PersistenceWriter(SkillJournal journal, long maxDelayMillis, int maxBatch) {
+        if (maxDelayMillis < 0) throw new IllegalArgumentException("Max delay cannot be negative.");
+        if (maxBatch < 1) throw new IllegalArgumentException("Max batch size must be at least 1.");
+        this.journal = journal;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxBatch = maxBatch;
+    }
+
+    public synchronized void submitRecord(String line) {
+        enqueue(line);
+    }
+
+    public synchronized void submitCheckpoint(Checkpoint checkpoint) {
+        enqueue(checkpoint);
+    }
+
+    // Ask the writer to write everything submitted so far without waiting for the delay
+    public synchronized void flush() {
+        flushTarget = Math.max(flushTarget, submitted);
+        notifyAll();
+    }
+
+    // Blocks until everything submitted before this call is on disk
+    public synchronized void awaitDurable() {
+        long target = submitted;
+        flushTarget = Math.max(flushTarget, target);
+        notifyAll();
+
+        boolean interrupted = false;
+        while (written < target && thread != null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    // Drains everything still queued, then stops the thread
+    public void close() {
+        Thread t;
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+            t = thread;
+        }
+        if (t != null) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("Journal close failed (IOException): " + e.getMessage());
+        }
+    }
+
+    private void enqueue(Object task) {
+        if (closed) throw new IllegalStateException("Persistence writer is closed.");
+        pending.addLast(task);
+        submitted++;
+        if (thread == null) {
+            thread = new Thread(this::run, "skilltrack-persistence");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        if (pending.size() >= maxBatch) notifyAll();
+    }
+
+    private void run() {
+        while (true) {
+            List<Object> batch = nextBatch();
+            if (batch == null) return;
+
+            writeBatch(batch);
+
+            synchronized (this) {
+                written += batch.size();
+                notifyAll();
+            }
+        }
+    }
+
+    // Waits for work, then gives late records up to maxDelayMillis to join the batch
+    private synchronized List<Object> nextBatch() {
+        boolean interrupted = false;
+        try {
+            while (pending.isEmpty()) {
+                if (closed) return null;
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+
+            long deadline = System.currentTimeMillis() + maxDelayMillis;
+            while (pending.size() < maxBatch && !closed && flushTarget <= written) {
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) break;
+                try {
+                    wait(left);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+
+            ArrayList<Object> batch = new ArrayList<>(Math.min(pending.size(), maxBatch));
+            while (!pending.isEmpty() && batch.size() < maxBatch) {
+                batch.add(pending.removeFirst());
+            }
+            return batch;
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeBatch(List<Object> batch) {
+        ArrayList<String> lines = new ArrayList<>();
+        for (Object task : batch) {
+            if (task instanceof String) {
+                lines.add((String) task);
+                continue;
+            }
+            appendLines(lines);
+            try {
+                ((Checkpoint) task).write();
+                journal.reset();
+            } catch (IOException e) {
+                // Robust: the journal is kept, so nothing is lost
+                System.err.println("Save failed (IOException): " + e.getMessage());
+            }
+        }
+        appendLines(lines);
+    }
+
+    private void appendLines(ArrayList<String> lines) {
+        if (lines.isEmpty()) return;
+        try {
+            journal.appendAll(lines);
+        } catch (IOException e) {
+            System.err.println("Journal write failed (IOException): " + e.getMessage());
+        }
+        lines.clear();
+    }
+}
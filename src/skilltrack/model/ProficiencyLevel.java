@@ -1,13 +1,46 @@
 package skilltrack.model;
 
+import java.nio.charset.StandardCharsets;
+
 public enum ProficiencyLevel {
     BEGINNER,
     INTERMEDIATE,
     ADVANCED,
     EXPERT;
 
+    private static final ProficiencyLevel[] VALUES = values();
+
+    // Case-insensitive, ignores surrounding whitespace (no temporary strings)
     public static ProficiencyLevel fromString(String s) {
         if (s == null) return BEGINNER;
-        return ProficiencyLevel.valueOf(s.trim().toUpperCase());
+
+        int from = 0;
+        int to = s.length();
+        while (from < to && Character.isWhitespace(s.charAt(from))) from++;
+        while (to > from && Character.isWhitespace(s.charAt(to - 1))) to--;
+
+        for (ProficiencyLevel p : VALUES) {
+            String n = p.name();
+            if (n.length() == to - from && s.regionMatches(true, from, n, 0, n.length())) return p;
+        }
+        throw new IllegalArgumentException("Unknown proficiency level: " + s);
+    }
+
+    // Same lookup straight from ASCII bytes (used by the CSV loaders)
+    public static ProficiencyLevel fromAscii(byte[] b, int off, int len) {
+        int from = off;
+        int to = off + len;
+        while (from < to && b[from] == ' ') from++;
+        while (to > from && b[to - 1] == ' ') to--;
+
+        for (ProficiencyLevel p : VALUES) {
+            String n = p.name();
+            if (n.length() != to - from) continue;
+
+            int i = 0;
+            while (i < n.length() && (b[from + i] & 0xDF) == n.charAt(i)) i++;
+            if (i == n.length()) return p;
+        }
+        throw new IllegalArgumentException("Unknown proficiency level: " + new String(b, off, len, StandardCharsets.UTF_8));
     }
 }
@@ -1,14 +1,25 @@
 package skilltrack.model;
 
+import java.util.Locale;
 import java.util.UUID;
+import skilltrack.util.PrefixTrie;
 
-public class Skill {
+// Immutable: an edit replaces the Skill object, so a reader holding one (or a store
+// snapshot) never sees it change half way.
+public final class Skill {
     private final String id;
-    private String name;
-    private String category;
-    private ProficiencyLevel level;
-    private int yearLearned;
-    private String certification; // optional
+    private final String name;
+    private final String category;
+    private final ProficiencyLevel level;
+    private final int yearLearned;
+    private final String certification; // optional
+
+    // Derived keys, computed once, so comparators, index lookups and filters
+    // never lowercase inside their loops
+    private final String nameKey;      // trimmed + lowercased name (sort / lookup key)
+    private final String categoryKey;  // trimmed + lowercased category
+    private final String certificationKey; // trimmed + lowercased certification ("" if none)
+    private final String identityKey;  // see identityKey(name, category)
 
     // New Skill constructor (auto ID)
     public Skill(String name, String category, ProficiencyLevel level, int yearLearned, String certification) {
@@ -23,6 +34,16 @@ public class Skill {
         this.level = level;
         this.yearLearned = yearLearned;
         this.certification = certification;
+        this.nameKey = PrefixTrie.normalize(name);
+        this.categoryKey = PrefixTrie.normalize(category);
+        this.certificationKey = PrefixTrie.normalize(certification);
+        this.identityKey = identityKey(name, category);
+    }
+
+    // Same values under another ID (an edit keeps the ID of the skill it replaces)
+    public Skill withId(String id) {
+        if (this.id.equals(id)) return this;
+        return new Skill(id, name, category, level, yearLearned, certification);
     }
 
     public String getId() { return id; }
@@ -31,12 +52,13 @@ public class Skill {
     public ProficiencyLevel getLevel() { return level; }
     public int getYearLearned() { return yearLearned; }
     public String getCertification() { return certification; }
+    public String getNameKey() { return nameKey; }
+    public String getCategoryKey() { return categoryKey; }
+    public String getCertificationKey() { return certificationKey; }
 
-    public void setName(String name) { this.name = name; }
-    public void setCategory(String category) { this.category = category; }
-    public void setLevel(ProficiencyLevel level) { this.level = level; }
-    public void setYearLearned(int yearLearned) { this.yearLearned = yearLearned; }
-    public void setCertification(String certification) { this.certification = certification; }
+    public boolean hasCertification() {
+        return !certificationKey.isEmpty();
+    }
 
     // Duplicate definition: same name + category (case-insensitive)
     public boolean sameIdentityAs(Skill other) {
@@ -45,4 +67,14 @@ public class Skill {
                 && this.name.equalsIgnoreCase(other.name)
                 && this.category.equalsIgnoreCase(other.category);
     }
+
+    // Hash key for the same rule (null if name or category is missing)
+    public String identityKey() {
+        return identityKey;
+    }
+
+    public static String identityKey(String name, String category) {
+        if (name == null || category == null) return null;
+        return name.toLowerCase(Locale.ROOT) + '\u0000' + category.toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,43 @@
+package skilltrack.model;
+
+import java.util.ArrayList;
+
+// Updates and deletes for SkillStore.apply, run in the order they were added as one
+// transaction: all of them or none, one journal unit, one undo entry, one event batch.
+public class SkillBatch {
+
+    private final ArrayList<String> ids = new ArrayList<>();
+    private final ArrayList<Skill> data = new ArrayList<>(); // null = delete
+
+    public SkillBatch update(String id, Skill newData) {
+        if (id == null) throw new IllegalArgumentException("ID cannot be null.");
+        if (newData == null) throw new IllegalArgumentException("Skill cannot be null.");
+        ids.add(id);
+        data.add(newData);
+        return this;
+    }
+
+    public SkillBatch delete(String id) {
+        if (id == null) throw new IllegalArgumentException("ID cannot be null.");
+        ids.add(id);
+        data.add(null);
+        return this;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    public boolean isEmpty() {
+        return ids.isEmpty();
+    }
+
+    String idAt(int i) {
+        return ids.get(i);
+    }
+
+    // null for a delete
+    Skill dataAt(int i) {
+        return data.get(i);
+    }
+}
@@ -0,0 +1,55 @@
+package skilltrack.model;
+
+// One change to the store, published to SkillChangeListeners in the order it happened.
+// row is the store row touched. A DELETED whose hole was filled by the last row carries
+// that row's old position in movedFrom (-1 otherwise).
+// snapshot holds the store's rows as they were right after the write that made the change;
+// writeSize is how many events that write made. Rows of a write with several events refer
+// to the states in between, which no snapshot shows.
+public class SkillChangeEvent {
+    public enum Type { ADDED, UPDATED, DELETED, RELOADED }
+
+    public final Type type;
+    public final Skill before; // for UPDATED (the replaced skill) / DELETED
+    public final Skill after;  // for ADDED / UPDATED
+    public final int row;
+    public final int movedFrom;
+    public final SkillVector.Snapshot snapshot; // set by the store when it publishes the event
+    public final int writeSize;                 // set along with snapshot
+
+    private SkillChangeEvent(Type type, Skill before, Skill after, int row, int movedFrom,
+                             SkillVector.Snapshot snapshot, int writeSize) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+        this.row = row;
+        this.movedFrom = movedFrom;
+        this.snapshot = snapshot;
+        this.writeSize = writeSize;
+    }
+
+    private SkillChangeEvent(Type type, Skill before, Skill after, int row, int movedFrom) {
+        this(type, before, after, row, movedFrom, null, 1);
+    }
+
+    SkillChangeEvent in(SkillVector.Snapshot snapshot, int writeSize) {
+        return new SkillChangeEvent(type, before, after, row, movedFrom, snapshot, writeSize);
+    }
+
+    public static SkillChangeEvent added(int row, Skill added) {
+        return new SkillChangeEvent(Type.ADDED, null, added, row, -1);
+    }
+
+    public static SkillChangeEvent updated(int row, Skill before, Skill after) {
+        return new SkillChangeEvent(Type.UPDATED, before, after, row, -1);
+    }
+
+    public static SkillChangeEvent deleted(int row, int movedFrom, Skill deleted) {
+        return new SkillChangeEvent(Type.DELETED, deleted, null, row, movedFrom);
+    }
+
+    // Everything may have changed (load from disk)
+    public static SkillChangeEvent reloaded() {
+        return new SkillChangeEvent(Type.RELOADED, null, null, -1, -1);
+    }
+}
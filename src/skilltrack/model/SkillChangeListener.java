@@ -0,0 +1,11 @@
+package skilltrack.model;
+
+import java.util.List;
+
+// Called by the store after each change, on the thread that made it, once the store's write
+// lock is released. Events from all writers arrive in order, one batch at a time, so
+// implementations must be quick (hand off, don't do work) and must not modify the store.
+// A batch holds consecutive events in order; single edits arrive as a batch of one.
+public interface SkillChangeListener {
+    void skillsChanged(List<SkillChangeEvent> events);
+}
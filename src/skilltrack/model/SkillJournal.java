@@ -0,0 +1,206 @@
+package skilltrack.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import skilltrack.util.CsvTokenizer;
+
+// Append-only log of mutations made since the last checkpoint.
+// One record per line, same quoting as the CSV snapshot:
+//   "ADD",<skill fields>   "UPDATE",<skill fields>   "DELETE","id"
+// A transaction is framed by "BEGIN" and "COMMIT" lines; replay applies its records only
+// once the COMMIT is read, so a batch cut short by a crash is dropped as a whole.
+public class SkillJournal {
+
+    public enum Op { ADD, UPDATE, DELETE, BEGIN, COMMIT }
+
+    // Called once per valid record while replaying (skill is null for DELETE)
+    public interface Replayer {
+        void apply(Op op, String id, Skill skill);
+    }
+
+    private final Path path;
+    private FileChannel out;
+    private int records = 0; // records written since the last checkpoint
+    private boolean tornBatch = false;
+
+    public SkillJournal(Path path) {
+        this.path = path;
+    }
+
+    public int size() {
+        return records;
+    }
+
+    // BEGIN / COMMIT marker
+    public static String encode(Op op) {
+        return SkillStore.csv(op.name());
+    }
+
+    // Encoded on the caller so the record captures the skill as it is right now
+    public static String encode(Op op, Skill s) {
+        return (op == Op.DELETE)
+                ? SkillStore.csv(op.name()) + "," + SkillStore.csv(s.getId())
+                : SkillStore.csv(op.name()) + "," + SkillStore.toCsvLine(s);
+    }
+
+    // Group commit: many records, one write + force. Returns once they are on the device,
+    // not just in the OS cache, so a power cut cannot lose a change reported as durable.
+    public void appendAll(List<String> lines) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) sb.append(line).append(System.lineSeparator());
+        ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+
+        FileChannel ch = channel();
+        while (buf.hasRemaining()) ch.write(buf);
+        ch.force(false);
+        records += lines.size();
+    }
+
+    // Re-applies every complete record; a torn last line (crash mid-write) is skipped
+    public void replay(Replayer r) throws IOException {
+        records = 0;
+        tornBatch = false;
+        if (!Files.exists(path)) return;
+
+        byte[] data = Files.readAllBytes(path);
+        CsvTokenizer t = new CsvTokenizer();
+        t.reset(ByteBuffer.wrap(data), 0, data.length);
+
+        ArrayList<Object[]> batch = null; // records since an unmatched BEGIN
+
+        while (t.nextRecord()) {
+            if (!t.nextField()) continue;
+            Op op = opOf(t);
+            if (op == null) continue;
+
+            if (op == Op.BEGIN || op == Op.COMMIT) {
+                if (!t.endRecord()) continue;
+                if (op == Op.COMMIT && batch != null) {
+                    for (Object[] rec : batch) r.apply((Op) rec[0], (String) rec[1], (Skill) rec[2]);
+                }
+                batch = (op == Op.BEGIN) ? new ArrayList<>() : null; // a second BEGIN drops an unfinished batch
+                records++;
+                continue;
+            }
+
+            String id;
+            Skill s = null;
+            try {
+                if (op == Op.DELETE) {
+                    if (!t.nextField()) continue;
+                    id = t.string();
+                } else {
+                    s = SkillStore.readSkill(t);
+                    if (s == null) continue;
+                    id = s.getId();
+                }
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (!t.endRecord()) continue;
+
+            if (batch != null) batch.add(new Object[] {op, id, s});
+            else r.apply(op, id, s);
+            records++;
+        }
+        tornBatch = batch != null;
+    }
+
+    // The last replay ended inside a batch that never committed. Records appended after it
+    // would be read as part of it, so the caller should checkpoint (which resets the journal).
+    public boolean endedInTornBatch() {
+        return tornBatch;
+    }
+
+    private static Op opOf(CsvTokenizer t) {
+        for (Op op : Op.values()) {
+            String n = op.name();
+            if (n.length() != t.length()) continue;
+
+            int i = 0;
+            while (i < n.length() && t.bytes()[i] == n.charAt(i)) i++;
+            if (i == n.length()) return op;
+        }
+        return null;
+    }
+
+    // Starts a new journal once a checkpoint has made the records redundant. They are kept
+    // for one more generation (see previous()), like the snapshot the checkpoint replaced.
+    public void reset() throws IOException {
+        close();
+        Path kept = previousPath();
+        if (Files.exists(path)) Files.move(path, kept, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        else Files.deleteIfExists(kept);
+        records = 0;
+    }
+
+    // Moves the previous journal's records in front of this one's, so the next reset keeps
+    // both: the previous snapshot plus the previous journal then still add up to the current
+    // state (see SkillStore.recoveryCheckpoint). A crash before the old file is deleted leaves
+    // its records to be replayed twice, which is harmless: each record carries the whole skill.
+    public void foldPrevious() throws IOException {
+        Path kept = previousPath();
+        if (!Files.exists(kept)) return;
+        close();
+
+        SkillJournal prev = previous();
+        prev.replay((op, id, s) -> { });
+        byte[] before = Files.readAllBytes(kept);
+        StringBuilder sep = new StringBuilder();
+        if (before.length > 0 && before[before.length - 1] != '\n') sep.append(System.lineSeparator()); // torn last line
+        if (prev.endedInTornBatch()) {
+            // an empty batch drops the unfinished one, as replaying the two files separately does
+            sep.append(encode(Op.BEGIN)).append(System.lineSeparator());
+            sep.append(encode(Op.COMMIT)).append(System.lineSeparator());
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(ch, before);
+            writeFully(ch, sep.toString().getBytes(StandardCharsets.UTF_8));
+            if (Files.exists(path)) writeFully(ch, Files.readAllBytes(path));
+            ch.force(false);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(kept);
+        records += prev.size();
+    }
+
+    private static void writeFully(FileChannel ch, byte[] data) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(data);
+        while (buf.hasRemaining()) ch.write(buf);
+    }
+
+    // The records between the previous snapshot and the current one: replayed after the
+    // previous snapshot, and before this journal, when the current snapshot is unusable
+    public SkillJournal previous() {
+        return new SkillJournal(previousPath());
+    }
+
+    private Path previousPath() {
+        return path.resolveSibling(path.getFileName() + ".prev");
+    }
+
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (out == null) {
+            out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return out;
+    }
+}
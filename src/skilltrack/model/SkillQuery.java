@@ -0,0 +1,93 @@
+package skilltrack.model;
+
+import skilltrack.util.PrefixTrie;
+import skilltrack.util.SearchUtils;
+
+// Composite filter: every criterion that is set must match; unset ones are ignored.
+// Built fluently, e.g.
+//   new SkillQuery().category("Cloud").minLevel(ProficiencyLevel.ADVANCED).sortBy(SortBy.YEAR, false).limit(50)
+// and run by SkillStore.query, which starts from the most selective index.
+public class SkillQuery {
+
+    public enum SortBy { NONE, NAME, YEAR, LEVEL, CATEGORY } // CATEGORY: then by name
+
+    private String category;           // normalized (trimmed, lowercased)
+    private ProficiencyLevel minLevel;
+    private Integer fromYear;          // inclusive; null = open
+    private Integer toYear;
+    private Boolean hasCertification;
+    private String text;               // trimmed + lowercased, matched like searchPartial
+    private SortBy sortBy = SortBy.NONE;
+    private boolean ascending = true;
+    private int limit = Integer.MAX_VALUE;
+
+    // ---------- Criteria ----------
+    public SkillQuery category(String category) {
+        String c = PrefixTrie.normalize(category);
+        this.category = c.isEmpty() ? null : c;
+        return this;
+    }
+
+    public SkillQuery minLevel(ProficiencyLevel level) {
+        this.minLevel = level;
+        return this;
+    }
+
+    public SkillQuery yearBetween(Integer from, Integer to) {
+        if (from != null && to != null && from > to) {
+            throw new IllegalArgumentException("From year must not be after To year.");
+        }
+        this.fromYear = from;
+        this.toYear = to;
+        return this;
+    }
+
+    public SkillQuery hasCertification(Boolean certified) {
+        this.hasCertification = certified;
+        return this;
+    }
+
+    public SkillQuery textContains(String text) {
+        String t = text == null ? "" : text.trim().toLowerCase();
+        this.text = t.isEmpty() ? null : t;
+        return this;
+    }
+
+    // ---------- Result shape ----------
+    public SkillQuery sortBy(SortBy key, boolean ascending) {
+        this.sortBy = key == null ? SortBy.NONE : key;
+        this.ascending = ascending;
+        return this;
+    }
+
+    public SkillQuery limit(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit cannot be negative.");
+        this.limit = limit;
+        return this;
+    }
+
+    // ---------- Getters ----------
+    public String getCategory() { return category; }
+    public ProficiencyLevel getMinLevel() { return minLevel; }
+    public Integer getFromYear() { return fromYear; }
+    public Integer getToYear() { return toYear; }
+    public Boolean getHasCertification() { return hasCertification; }
+    public String getText() { return text; }
+    public SortBy getSortBy() { return sortBy; }
+    public boolean isAscending() { return ascending; }
+    public int getLimit() { return limit; }
+
+    public boolean hasYearRange() {
+        return fromYear != null || toYear != null;
+    }
+
+    // True if s passes every criterion (cheap checks first)
+    public boolean matches(Skill s) {
+        if (minLevel != null && s.getLevel().compareTo(minLevel) < 0) return false;
+        if (fromYear != null && s.getYearLearned() < fromYear) return false;
+        if (toYear != null && s.getYearLearned() > toYear) return false;
+        if (hasCertification != null && hasCertification != s.hasCertification()) return false;
+        if (category != null && !category.equals(s.getCategoryKey())) return false;
+        return text == null || SearchUtils.matchesPartial(s, text);
+    }
+}
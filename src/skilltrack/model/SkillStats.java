@@ -0,0 +1,112 @@
+package skilltrack.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+// Running aggregates, adjusted by the store on every index / deindex (O(1) per change):
+// per category, per proficiency level, per year learned, and certified vs. not.
+// Skills with a blank category have their own counter, so they can never merge with a
+// real category, whatever it is called.
+// snapshot() copies only the counters (categories + years), never the skills.
+public class SkillStats {
+
+    private static final class CategoryCount {
+        final String label; // display form (first one added)
+        int count;
+
+        CategoryCount(String label) {
+            this.label = label;
+        }
+    }
+
+    private final HashMap<String, CategoryCount> byCategory = new HashMap<>(); // non-blank keys only
+    private int uncategorized = 0;
+    private final int[] byLevel = new int[ProficiencyLevel.values().length];
+    private final TreeMap<Integer, Integer> byYear = new TreeMap<>();
+    private int total = 0;
+    private int certified = 0;
+
+    public void add(Skill s) {
+        if (s.getCategoryKey().isEmpty()) uncategorized++;
+        else byCategory.computeIfAbsent(s.getCategoryKey(), k -> new CategoryCount(s.getCategory().trim())).count++;
+        byLevel[s.getLevel().ordinal()]++;
+        byYear.merge(s.getYearLearned(), 1, Integer::sum);
+        if (s.hasCertification()) certified++;
+        total++;
+    }
+
+    public void remove(Skill s) {
+        if (s.getCategoryKey().isEmpty()) {
+            uncategorized--;
+        } else {
+            CategoryCount c = byCategory.get(s.getCategoryKey());
+            if (c != null && --c.count == 0) byCategory.remove(s.getCategoryKey());
+        }
+        byLevel[s.getLevel().ordinal()]--;
+        byYear.computeIfPresent(s.getYearLearned(), (y, n) -> n == 1 ? null : n - 1);
+        if (s.hasCertification()) certified--;
+        total--;
+    }
+
+    public void clear() {
+        byCategory.clear();
+        uncategorized = 0;
+        Arrays.fill(byLevel, 0);
+        byYear.clear();
+        total = 0;
+        certified = 0;
+    }
+
+    // Distinct non-blank categories
+    public int categoryCount() {
+        return byCategory.size();
+    }
+
+    public Snapshot snapshot() {
+        Map<String, Integer> cats = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (CategoryCount c : byCategory.values()) cats.merge(c.label, c.count, Integer::sum);
+
+        EnumMap<ProficiencyLevel, Integer> levels = new EnumMap<>(ProficiencyLevel.class);
+        for (ProficiencyLevel p : ProficiencyLevel.values()) levels.put(p, byLevel[p.ordinal()]);
+
+        return new Snapshot(total, certified, uncategorized, cats, levels, new TreeMap<>(byYear));
+    }
+
+    // ---------- Snapshot (read-only copy of the counters) ----------
+    public static final class Snapshot {
+        public final int total;
+        public final int certified;
+        public final int uncategorized;                            // null / blank category
+        public final Map<String, Integer> byCategory;              // display name -> count, A-Z (blanks not included)
+        public final Map<ProficiencyLevel, Integer> byLevel;       // every level, zeros included
+        public final SortedMap<Integer, Integer> byYear;           // only years that occur
+
+        private Snapshot(int total, int certified, int uncategorized, Map<String, Integer> byCategory,
+                         Map<ProficiencyLevel, Integer> byLevel, SortedMap<Integer, Integer> byYear) {
+            this.total = total;
+            this.certified = certified;
+            this.uncategorized = uncategorized;
+            this.byCategory = Collections.unmodifiableMap(byCategory);
+            this.byLevel = Collections.unmodifiableMap(byLevel);
+            this.byYear = Collections.unmodifiableSortedMap(byYear);
+        }
+
+        public int uncertified() {
+            return total - certified;
+        }
+
+        // Year with the most skills (earliest on ties), or null when empty
+        public Integer busiestYear() {
+            Integer best = null;
+            for (Map.Entry<Integer, Integer> e : byYear.entrySet()) {
+                if (best == null || e.getValue() > byYear.get(best)) best = e.getKey();
+            }
+            return best;
+        }
+    }
+}
@@ -1,213 +1,1060 @@
 package skilltrack.model;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import skilltrack.util.CsvTokenizer;
+import skilltrack.util.MergeSort;
+import skilltrack.util.PrefixTrie;
+import skilltrack.util.RowBitmap;
+import skilltrack.util.SearchUtils;
 
 public class SkillStore {
 
-    // 1) List (main storage)
-    private final ArrayList<Skill> skills = new ArrayList<>();
+    // 1) List (main storage): chunked, copy-on-write; every write publishes an immutable
+    //    snapshot of it, which readers use without any lock
+    private final SkillVector skills = new SkillVector();
+    private volatile SkillVector.Snapshot current = skills.snapshot();
 
     // 2) Queue (recently added, max 5)
     private final ArrayDeque<Skill> recentQueue = new ArrayDeque<>();
 
-    // 3) Stack (undo)
-    private final ArrayDeque<UndoAction> undoStack = new ArrayDeque<>();
+    // 3) Undo / redo log (two stacks, capped by entry count and bytes)
+    private final UndoLog undoLog = new UndoLog();
 
-    // 4) HashMap (category -> skills)
-    private final HashMap<String, ArrayList<Skill>> byCategory = new HashMap<>();
+    // 4) Bitmap facets (category / level / certification -> rows)
+    private final FacetIndex facets = new FacetIndex();
 
-    // CSV file location (in user home folder)
-    private final Path dataPath = Paths.get(System.getProperty("user.home"), "skilltrack_skills.csv");
+    // 4a) Running aggregates (category / level / year / certified counts)
+    private final SkillStats stats = new SkillStats();
+
+    // 4b) HashMap (id -> position in skills); deletes swap the last row into the hole
+    private final HashMap<String, Integer> rowById = new HashMap<>();
+
+    // 4c) HashMap (normalized name + category -> skill); enforces the no-duplicates rule
+    private final HashMap<String, Skill> byIdentity = new HashMap<>();
+
+    // 4d) Ordered indexes (lowercased name, year) for exact lookups and sorted views
+    private final SortedIndex<String> nameIndex = new SortedIndex<>();
+    private final SortedIndex<Integer> yearIndex = new SortedIndex<>();
+
+    // 4e) Trigram inverted index (row numbers) for partial text search
+    private final TrigramIndex trigrams = new TrigramIndex();
+
+    // 4f) Prefix tries (normalized names / categories) for autocomplete
+    private final PrefixTrie nameTrie = new PrefixTrie();
+    private final PrefixTrie categoryTrie = new PrefixTrie();
+
+    // CSV file location (in the data folder); read on startup only when no binary snapshot exists yet
+    private final Path dataPath;
+
+    // Binary snapshot written by checkpoints (see BinarySnapshot); the one before it is kept
+    // as <name>.prev, along with the journal that led from it to this one
+    private final Path snapshotPath;
+
+    // 5) Journal (mutations since the last checkpoint, replayed on load)
+    private final SkillJournal journal;
+
+    // Compact once the journal holds this many records (or half the store, whichever is larger)
+    private static final int CHECKPOINT_MIN_RECORDS = 1000;
+    private int journalRecords = 0; // submitted since the last checkpoint
+
+    // 6) Background writer (group commit, keeps disk I/O off the caller / EDT)
+    private final PersistenceWriter writer;
+
+    // 7) Change listeners (told about every change, in order)
+    private final List<SkillChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final ArrayList<SkillChangeEvent> unpublished = new ArrayList<>();     // this write's events
+    private final ArrayDeque<SkillChangeEvent> pendingEvents = new ArrayDeque<>(); // queued under the write lock
+    private final Object publishMonitor = new Object();                             // one publisher at a time
+
+    // 8) Lock over everything above (list, indexes, undo / recent).
+    // Writers are serialized and change the list and every index under one write lock, so a
+    // reader never sees them out of step. Readers of the published snapshot need no lock at
+    // all; index lookups and scans take the read lock, so any number of them run in parallel.
+    // Reads of a single field (counts, undo / redo available) are optimistic: no blocking,
+    // retried under the read lock if a write overlapped. StampedLock is not reentrant: private
+    // helpers expect the caller to hold it, and public methods never call each other.
+    private final StampedLock lock = new StampedLock();
+    // StampedLock lets new readers in while a writer waits, so a steady stream of overlapping
+    // searches could starve writes. A writer that cannot get the lock at once holds the
+    // turnstile while it waits, and readers only stop at the turnstile while it is held.
+    // Uncontended, readers touch nothing shared but the read lock (one volatile read of the
+    // turnstile besides). The price: a reader that checked just before a writer started
+    // waiting still gets in ahead of it, so a writer can be overtaken by the readers already
+    // on their way, but not by an endless stream of new ones.
+    private final ReentrantLock turnstile = new ReentrantLock();
+
+    // Data files in the user's home folder
+    public SkillStore() {
+        this(Paths.get(System.getProperty("user.home")));
+    }
+
+    public SkillStore(Path dataDir) {
+        this(dataDir, 50, 256);
+    }
+
+    // maxDelayMillis / maxBatch: how long and how many records a burst may be merged into one flush
+    public SkillStore(Path dataDir, long maxDelayMillis, int maxBatch) {
+        this.dataPath = dataDir.resolve("skilltrack_skills.csv");
+        this.snapshotPath = dataDir.resolve("skilltrack_skills.bin");
+        this.journal = new SkillJournal(dataDir.resolve("skilltrack_skills.journal"));
+        this.writer = new PersistenceWriter(journal, maxDelayMillis, maxBatch);
+    }
 
     // ---------- Getters ----------
+    // Every skill as of the last completed write: immutable, consistent, no lock and no copy.
+    // Newer snapshots arrive with the change events (and have a larger version).
+    public SkillVector.Snapshot snapshot() {
+        return current;
+    }
+
     public List<Skill> getAllSkills() {
-        return Collections.unmodifiableList(skills);
+        return current;
     }
 
     public List<Skill> getRecentlyAdded() {
-        return new ArrayList<>(recentQueue);
+        return read(() -> new ArrayList<>(recentQueue));
     }
 
     public int totalSkills() {
-        return skills.size();
+        return current.size();
     }
 
     public Map<String, Integer> categoryStats() {
-        Map<String, Integer> out = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        for (String cat : byCategory.keySet()) {
-            out.put(cat, byCategory.get(cat).size());
+        return read(() -> stats.snapshot().byCategory);
+    }
+
+    public int categoryCount() {
+        return optimisticRead(stats::categoryCount);
+    }
+
+    // Counts per category / level / year and certified totals, without scanning the skills
+    public SkillStats.Snapshot statsSnapshot() {
+        return read(stats::snapshot);
+    }
+
+    // Skills matching every given facet (null = any), e.g. facetCount("Cloud", EXPERT, true)
+    public int facetCount(String category, ProficiencyLevel level, Boolean hasCertification) {
+        return read(() -> facets.count(category, level, hasCertification));
+    }
+
+    // ---------- Ordered lookups ----------
+    // Exact, case-insensitive name match (O(log n)); null if none
+    public Skill findByName(String name) {
+        if (name == null) return null;
+        String key = nameKey(name);
+        return read(() -> nameIndex.first(key));
+    }
+
+    public Skill findByYear(int year) {
+        return read(() -> yearIndex.first(year));
+    }
+
+    // Partial, case-insensitive match on name / category / certification (list order).
+    // Queries of 3+ chars go through the trigram index; shorter ones scan.
+    // May run off the EDT (search-as-you-type); an interrupted caller gets a CancellationException.
+    public List<Skill> searchPartial(String query) {
+        if (query == null) return new ArrayList<>();
+        String q = query.trim().toLowerCase();
+        if (q.length() < TrigramIndex.MIN_QUERY) {
+            return SearchUtils.partialSkillSearchLinear(current, q); // plain scan: no lock needed
+        }
+
+        return read(() -> {
+            ArrayList<Skill> out = new ArrayList<>();
+            int[] rows = trigrams.candidates(q);
+            for (int i = 0; i < rows.length; i++) {
+                if ((i & 0xFFF) == 0 && Thread.currentThread().isInterrupted()) throw new CancellationException();
+                Skill s = skills.get(rows[i]);
+                if (SearchUtils.matchesPartial(s, q)) out.add(s);
+            }
+            return out;
+        });
+    }
+
+    // Names within maxDistance edits of the query, closest first
+    // (Levenshtein automaton over the name trie, so only nearby branches are visited)
+    public List<Skill> searchFuzzy(String query, int maxDistance) {
+        if (query == null) return new ArrayList<>();
+
+        return read(() -> {
+            ArrayList<Skill> out = new ArrayList<>();
+            for (PrefixTrie.Match m : nameTrie.fuzzy(query, maxDistance)) {
+                out.addAll(nameIndex.get(m.key));
+            }
+            return out;
+        });
+    }
+
+    // Autocomplete: up to k distinct names / categories starting with prefix
+    public List<String> completeName(String prefix, int k) {
+        return read(() -> nameTrie.complete(prefix, k));
+    }
+
+    public List<String> completeCategory(String prefix, int k) {
+        return read(() -> categoryTrie.complete(prefix, k));
+    }
+
+    // The skill that already uses this Name + Category (other than exceptId), or null
+    public Skill findDuplicate(String name, String category, String exceptId) {
+        return read(() -> duplicateOf(name, category, exceptId));
+    }
+
+    // Every skill learned in that year (insertion order)
+    public List<Skill> skillsFromYear(int year) {
+        return read(() -> yearIndex.get(year));
+    }
+
+    // Inclusive year range, ordered by year: O(log n + k)
+    public List<Skill> skillsLearnedBetween(int fromYear, int toYear) {
+        if (fromYear > toYear) throw new IllegalArgumentException("From year must not be after To year.");
+        return read(() -> yearIndex.range(fromYear, toYear));
+    }
+
+    // Sorted views come straight from the indexes (no sort)
+    public List<Skill> sortedByName(boolean ascending) {
+        return read(() -> ascending ? nameIndex.ascending() : nameIndex.descending());
+    }
+
+    public List<Skill> sortedByYear(boolean ascending) {
+        return read(() -> ascending ? yearIndex.ascending() : yearIndex.descending());
+    }
+
+    // ---------- Composite queries ----------
+    private enum Plan { TEXT, FACETS, YEAR, SCAN }
+
+    // Walks only the smallest candidate set among the indexes the query can use
+    // (trigrams, the AND of the category / level / certification bitmaps, year range; a full
+    // scan when none applies) and filters it with the remaining criteria, so cost follows
+    // that set, not the store size. When the walk already yields the requested order, the
+    // limit stops it early.
+    public List<Skill> query(SkillQuery q) {
+        if (q == null) throw new IllegalArgumentException("Query cannot be null.");
+        return read(() -> runQuery(q));
+    }
+
+    private List<Skill> runQuery(SkillQuery q) {
+        Plan plan = plan(q);
+        SkillQuery.SortBy sort = q.getSortBy();
+        boolean asc = q.isAscending();
+        boolean byLevel = sort == SkillQuery.SortBy.LEVEL && (plan == Plan.FACETS || plan == Plan.SCAN);
+        boolean ordered = sort == SkillQuery.SortBy.NONE || byLevel
+                || (plan == Plan.YEAR && sort == SkillQuery.SortBy.YEAR)
+                || (plan == Plan.SCAN && sort != SkillQuery.SortBy.CATEGORY); // no index keeps that order
+
+        ArrayList<Skill> out = new ArrayList<>();
+        int stopAt = ordered ? q.getLimit() : Integer.MAX_VALUE;
+        if (stopAt == 0) return out;
+        Predicate<Skill> collect = s -> {
+            if (q.matches(s)) out.add(s);
+            return out.size() < stopAt;
+        };
+
+        switch (plan) {
+            case TEXT:
+                for (int row : trigrams.candidates(q.getText())) {
+                    if (!collect.test(skills.get(row))) break;
+                }
+                break;
+            case FACETS:
+                if (byLevel) walkLevels(q, asc, collect);
+                else facetRows(q, q.getMinLevel(), null).forEach(row -> collect.test(skills.get(row)));
+                break;
+            case YEAR:
+                yearIndex.forEachInRange(q.getFromYear(), q.getToYear(),
+                        sort != SkillQuery.SortBy.YEAR || asc, collect);
+                break;
+            default:
+                // nothing selective: walk the index matching the sort order (or the list)
+                if (sort == SkillQuery.SortBy.NAME) nameIndex.forEachInRange(null, null, asc, collect);
+                else if (sort == SkillQuery.SortBy.YEAR) yearIndex.forEachInRange(null, null, asc, collect);
+                else if (byLevel) walkLevels(q, asc, collect);
+                else for (Skill s : skills) if (!collect.test(s)) break;
+                break;
+        }
+
+        if (ordered) return out;
+        List<Skill> sorted = MergeSort.sort(out, comparator(sort, asc));
+        return sorted.size() > q.getLimit() ? new ArrayList<>(sorted.subList(0, q.getLimit())) : sorted;
+    }
+
+    // Smallest candidate count wins (facets by their upper bound, so no bitmap is built
+    // just to plan); ties go to the index that also gives the sort order
+    private Plan plan(SkillQuery q) {
+        Plan best = Plan.SCAN;
+        int bestCount = skills.size();
+
+        String text = q.getText();
+        if (text != null && text.length() >= TrigramIndex.MIN_QUERY) {
+            int n = trigrams.estimate(text);
+            if (n < bestCount) { best = Plan.TEXT; bestCount = n; }
+        }
+        int facetBound = facets.estimate(q.getCategory(), q.getMinLevel(), null, q.getHasCertification());
+        if (facetBound >= 0) {
+            int n = facetBound;
+            if (n < bestCount || (n == bestCount && q.getSortBy() == SkillQuery.SortBy.LEVEL)) {
+                best = Plan.FACETS; bestCount = n;
+            }
+        }
+        if (q.hasYearRange()) {
+            int n = yearIndex.count(q.getFromYear(), q.getToYear());
+            if (n < bestCount || (n == bestCount && q.getSortBy() == SkillQuery.SortBy.YEAR)) {
+                best = Plan.YEAR;
+            }
+        }
+        return best;
+    }
+
+    private RowBitmap facetRows(SkillQuery q, ProficiencyLevel from, ProficiencyLevel to) {
+        return facets.rows(q.getCategory(), from, to, q.getHasCertification());
+    }
+
+    // One facet walk per level (lowest first when ascending), so results come out level-ordered
+    private void walkLevels(SkillQuery q, boolean asc, Predicate<Skill> collect) {
+        ProficiencyLevel[] levels = ProficiencyLevel.values();
+        for (int i = 0; i < levels.length; i++) {
+            ProficiencyLevel p = levels[asc ? i : levels.length - 1 - i];
+            if (q.getMinLevel() != null && p.compareTo(q.getMinLevel()) < 0) continue;
+
+            RowBitmap rows = facetRows(q, p, p);
+            boolean[] more = {true};
+            rows.forEach(row -> more[0] = collect.test(skills.get(row)));
+            if (!more[0]) return;
         }
-        return out;
+    }
+
+    private static Comparator<Skill> comparator(SkillQuery.SortBy sort, boolean asc) {
+        Comparator<Skill> cmp;
+        switch (sort) {
+            case NAME:  cmp = Comparator.comparing(Skill::getNameKey); break;
+            case YEAR:  cmp = Comparator.comparingInt(Skill::getYearLearned); break;
+            case CATEGORY:
+                cmp = Comparator.comparing(Skill::getCategoryKey).thenComparing(Skill::getNameKey);
+                break;
+            default:    cmp = Comparator.comparing(Skill::getLevel); break;
+        }
+        return asc ? cmp : cmp.reversed();
     }
 
     // ---------- CRUD ----------
     public void addSkill(Skill s) {
         if (s == null) throw new IllegalArgumentException("Skill cannot be null.");
 
-        // Prevent duplicates (same name + category)
-        for (Skill existing : skills) {
-            if (existing.sameIdentityAs(s)) {
+        write(() -> {
+            // Prevent duplicates (same name + category)
+            if (rowById.containsKey(s.getId())) {
+                throw new IllegalArgumentException("Duplicate skill: same ID already exists.");
+            }
+            if (identityTaken(s, null)) {
                 throw new IllegalArgumentException("Duplicate skill: same Name + Category already exists.");
             }
-        }
-
-        skills.add(s);
-        indexSkill(s);
-        pushRecent(s);
-        
 
-        saveToDisk(); // includes IOException handling
+            applyInsert(s);
+            log(SkillJournal.Op.ADD, s);
+            undoLog.record(UndoAction.add(s));
+        });
     }
 
     public void deleteSkill(String id) {
-        Skill s = findById(id);
-        if (s == null) throw new IllegalArgumentException("Skill not found.");
+        write(() -> {
+            Skill s = findById(id);
+            if (s == null) throw new IllegalArgumentException("Skill not found.");
 
-        skills.remove(s);
-        deindexSkill(s);
-        recentQueue.removeIf(x -> x.getId().equals(id));
-        undoStack.push(UndoAction.delete(s));
-
-        saveToDisk();
+            applyRemove(s);
+            log(SkillJournal.Op.DELETE, s);
+            undoLog.record(UndoAction.delete(s));
+        });
     }
 
     public void updateSkill(String id, Skill newData) {
-        Skill existing = findById(id);
-        if (existing == null) throw new IllegalArgumentException("Skill not found.");
+        write(() -> {
+            Skill existing = findById(id);
+            if (existing == null) throw new IllegalArgumentException("Skill not found.");
 
-        // Duplicate prevention (ignore same ID)
-        for (Skill s : skills) {
-            if (s.getId().equals(id)) continue;
-            if (s.getName().equalsIgnoreCase(newData.getName())
-                    && s.getCategory().equalsIgnoreCase(newData.getCategory())) {
+            // Duplicate prevention (ignore same ID)
+            if (identityTaken(newData, id)) {
                 throw new IllegalArgumentException("Duplicate skill: same Name + Category already exists.");
             }
+
+            // The old object stays as it is ("before" for the change event and undo)
+            Skill updated = newData.withId(id);
+            applyReplace(existing, updated);
+            log(SkillJournal.Op.UPDATE, updated);
+            undoLog.record(UndoAction.update(existing, updated));
+        });
+    }
+
+    // One applied change: row(s), indexes, recent list and change event (the caller journals it)
+    private void applyInsert(Skill s) {
+        insertRow(s);
+        pushRecent(s);
+        fire(SkillChangeEvent.added(skills.size() - 1, s));
+    }
+
+    private void applyRemove(Skill s) {
+        int row = rowById.get(s.getId());
+        int lastRow = skills.size() - 1;
+        removeRow(s.getId());
+        recentQueue.removeIf(x -> x.getId().equals(s.getId()));
+        fire(SkillChangeEvent.deleted(row, row == lastRow ? -1 : lastRow, s));
+    }
+
+    private void applyReplace(Skill old, Skill replacement) {
+        int row = replaceRow(old, replacement);
+        fire(SkillChangeEvent.updated(row, old, replacement));
+    }
+
+    // Applies checked steps ({before, after}, see Staging) and persists them as one unit.
+    // One step is one journal record. Several are framed BEGIN .. COMMIT, so a replay applies
+    // all of them or none. The records always go to the journal first, even when the batch
+    // then triggers a checkpoint: if that checkpoint fails, the journal still holds the batch.
+    private void commit(List<Skill[]> steps) {
+        if (steps.isEmpty()) return;
+        for (Skill[] step : steps) {
+            if (step[0] == null) applyInsert(step[1]);
+            else if (step[1] == null) applyRemove(step[0]);
+            else applyReplace(step[0], step[1]);
         }
 
-        // Save "before" for undo
-        Skill before = new Skill(existing.getId(), existing.getName(), existing.getCategory(),
-                existing.getLevel(), existing.getYearLearned(), existing.getCertification());
+        if (steps.size() == 1) {
+            log(opOf(steps.get(0)), recordOf(steps.get(0)));
+            return;
+        }
+        marker(SkillJournal.Op.BEGIN);
+        for (Skill[] step : steps) journal(opOf(step), recordOf(step));
+        marker(SkillJournal.Op.COMMIT);
+        if (checkpointDue(journalRecords, skills.size())) checkpoint();
+    }
 
-        // Update (re-index because category might change)
-        deindexSkill(existing);
-        existing.setName(newData.getName());
-        existing.setCategory(newData.getCategory());
-        existing.setLevel(newData.getLevel());
-        existing.setYearLearned(newData.getYearLearned());
-        existing.setCertification(newData.getCertification());
-        indexSkill(existing);
+    private static SkillJournal.Op opOf(Skill[] step) {
+        if (step[0] == null) return SkillJournal.Op.ADD;
+        return step[1] == null ? SkillJournal.Op.DELETE : SkillJournal.Op.UPDATE;
+    }
 
-        
-        saveToDisk();
+    private static Skill recordOf(Skill[] step) {
+        return step[1] == null ? step[0] : step[1];
     }
 
-    // ---------- Undo ----------
+    // One undo entry for the whole sequence
+    private static UndoAction undoEntry(List<Skill[]> steps) {
+        ArrayList<UndoAction> actions = new ArrayList<>(steps.size());
+        for (Skill[] step : steps) {
+            UndoAction a;
+            if (step[0] == null) a = UndoAction.add(step[1]);
+            else if (step[1] == null) a = UndoAction.delete(step[0]);
+            else a = UndoAction.update(step[0], step[1]); // null if nothing changed
+            if (a != null) actions.add(a);
+        }
+        return UndoAction.batch(actions);
+    }
+
+    // ---------- Batch transactions ----------
+    // Runs every update and delete in the batch, in order, or none of them. The whole batch
+    // is checked first (missing skills step by step, duplicates on the state it would leave);
+    // a bad step throws IllegalArgumentException naming it, with nothing changed. Indexes are
+    // updated per changed row only; the batch is journaled once, undone as one entry and
+    // published as one event batch.
+    public void apply(SkillBatch batch) {
+        if (batch == null) throw new IllegalArgumentException("Batch cannot be null.");
+        if (batch.isEmpty()) return;
+
+        write(() -> {
+            Staging st = new Staging();
+            for (int i = 0; i < batch.size(); i++) {
+                String id = batch.idAt(i);
+                Skill data = batch.dataAt(i);
+                try {
+                    if (data == null) st.remove(id);
+                    else st.replace(id, current -> data.withId(id));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Step " + (i + 1) + " (" + id + "): " + e.getMessage());
+                }
+            }
+            int bad = st.conflict(); // one batch step is one staged step
+            if (bad >= 0) {
+                throw new IllegalArgumentException("Step " + (bad + 1) + " (" + batch.idAt(bad)
+                        + "): Duplicate skill: same Name + Category already exists.");
+            }
+            commit(st.steps);
+            undoLog.record(undoEntry(st.steps));
+        });
+    }
+
+    // Moves every skill of one category (case-insensitive) to another, as one transaction.
+    // The rows come from the category bitmap, not a scan. Returns how many moved.
+    public int recategorize(String from, String to) {
+        if (from == null || to == null || to.trim().isEmpty()) {
+            throw new IllegalArgumentException("Both categories are required.");
+        }
+        String target = to.trim();
+
+        return write(() -> {
+            RowBitmap rows = facets.rows(PrefixTrie.normalize(from), null, null, null);
+            if (rows == null || rows.isEmpty()) return 0;
+
+            Staging st = new Staging();
+            rows.forEach(row -> {
+                Skill s = skills.get(row);
+                st.replace(s.getId(), x -> new Skill(x.getId(), x.getName(), target,
+                        x.getLevel(), x.getYearLearned(), x.getCertification()));
+                return true;
+            });
+            st.verify();
+            commit(st.steps);
+            undoLog.record(undoEntry(st.steps));
+            return st.steps.size();
+        });
+    }
+
+    // ---------- Bulk import ----------
+    // Adds many skills under one write. Every row is checked in one hashed pass against the
+    // store and the rows before it (same ID, or same Name + Category); bad rows are reported
+    // instead of stopping the import. The accepted rows are persisted once (see commit),
+    // undone as one entry and published as one event batch. Reject rows count from 1.
+    public ImportResult addAll(List<Skill> batch) {
+        if (batch == null) throw new IllegalArgumentException("Skills cannot be null.");
+        return write(() -> addRows(batch, null, new ArrayList<>()));
+    }
+
+    // Same for a CSV file in the export format (id,name,category,level,year,certification).
+    // Rows keep their IDs, so importing an export twice adds nothing the second time.
+    // Reject rows are 1-based record numbers; rows that cannot be read are rejected too.
+    public ImportResult importCsv(Path source) throws IOException {
+        byte[] data = Files.readAllBytes(source); // parsed outside the lock
+        ArrayList<Skill> rows = new ArrayList<>();
+        ArrayList<Integer> rowNumbers = new ArrayList<>();
+        ArrayList<ImportResult.Reject> rejects = new ArrayList<>();
+
+        CsvTokenizer t = new CsvTokenizer();
+        t.reset(ByteBuffer.wrap(data), 0, data.length);
+        int record = 0;
+        while (t.nextRecord()) {
+            record++;
+            Skill s;
+            try {
+                s = readSkill(t);
+            } catch (IllegalArgumentException e) { // invalid year or level
+                s = null;
+            }
+            if (s != null) {
+                rows.add(s);
+                rowNumbers.add(record);
+            } else if (t.length() > 0) { // blank lines are not errors
+                rejects.add(new ImportResult.Reject(record, null, "Unreadable row (missing fields, or invalid level / year)."));
+            }
+        }
+        return write(() -> addRows(rows, rowNumbers, rejects));
+    }
+
+    private ImportResult addRows(List<Skill> batch, List<Integer> rowNumbers, List<ImportResult.Reject> rejects) {
+        int n = batch.size();
+        HashSet<String> ids = new HashSet<>(n * 2);
+        HashSet<String> keys = new HashSet<>(n * 2);
+        ArrayList<Skill> accepted = new ArrayList<>(n);
+
+        for (int i = 0; i < n; i++) {
+            Skill s = batch.get(i);
+            String reason = rejectReason(s, ids, keys);
+            if (reason == null) {
+                accepted.add(s);
+                ids.add(s.getId());
+                keys.add(s.identityKey());
+            } else {
+                rejects.add(new ImportResult.Reject(rowNumbers == null ? i + 1 : rowNumbers.get(i), s, reason));
+            }
+        }
+        rejects.sort(Comparator.comparingInt(r -> r.row));
+
+        ArrayList<Skill[]> steps = new ArrayList<>(accepted.size());
+        for (Skill s : accepted) steps.add(new Skill[] {null, s});
+        commit(steps);
+        undoLog.record(undoEntry(steps));
+
+        return new ImportResult(accepted.size(), rejects);
+    }
+
+    private String rejectReason(Skill s, Set<String> batchIds, Set<String> batchKeys) {
+        if (s == null) return "Skill cannot be null.";
+        if (isBlank(s.getId()) || isBlank(s.getName()) || isBlank(s.getCategory()) || s.getLevel() == null) {
+            return "ID, Name, Category and Level are required.";
+        }
+        if (rowById.containsKey(s.getId()) || batchIds.contains(s.getId())) {
+            return "Duplicate skill: same ID already exists.";
+        }
+        if (byIdentity.containsKey(s.identityKey()) || batchKeys.contains(s.identityKey())) {
+            return "Duplicate skill: same Name + Category already exists.";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String x) {
+        return x == null || x.trim().isEmpty();
+    }
+
+    // ---------- Undo / redo ----------
+    // Any add, update or delete (or batch of them) can be undone and redone, newest first.
+    // An entry that no longer fits (e.g. its Name + Category was taken since) is refused
+    // with nothing changed and stays where it is.
     public boolean canUndo() {
-        return !undoStack.isEmpty();
+        return optimisticRead(undoLog::canUndo);
     }
 
-   public void undo() {
-    if (undoStack.isEmpty()) return;
+    public boolean canRedo() {
+        return optimisticRead(undoLog::canRedo);
+    }
 
-    UndoAction action = undoStack.pop();
+    public void undo() {
+        write(() -> {
+            UndoAction a = undoLog.nextUndo();
+            if (a == null) return;
 
-    // Only allow undo for DELETE (ignore anything else)
-    if (action.type != UndoAction.Type.DELETE) return;
+            Staging st = new Staging();
+            try {
+                stageUndo(st, a);
+                st.verify();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Cannot undo: " + e.getMessage());
+            }
+            commit(st.steps);
+            undoLog.undone();
+        });
+    }
 
-    addNoUndo(action.before); // re-add the deleted skill
-    saveToDisk();
-}
+    public void redo() {
+        write(() -> {
+            UndoAction a = undoLog.nextRedo();
+            if (a == null) return;
 
+            Staging st = new Staging();
+            try {
+                stageRedo(st, a);
+                st.verify();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Cannot redo: " + e.getMessage());
+            }
+            commit(st.steps);
+            undoLog.redone();
+        });
+    }
 
-    private void addNoUndo(Skill s) {
-        skills.add(s);
-        indexSkill(s);
-        pushRecent(s);
+    // Batches are undone last step first, redone first step first
+    private void stageUndo(Staging st, UndoAction a) {
+        switch (a.type) {
+            case ADD:    st.remove(a.id); break;
+            case DELETE: st.insert(a.skill); break;
+            case UPDATE: st.replace(a.id, a.delta::undo); break;
+            default:
+                for (int i = a.steps.size() - 1; i >= 0; i--) stageUndo(st, a.steps.get(i));
+        }
+    }
+
+    private void stageRedo(Staging st, UndoAction a) {
+        switch (a.type) {
+            case ADD:    st.insert(a.skill); break;
+            case DELETE: st.remove(a.id); break;
+            case UPDATE: st.replace(a.id, a.delta::redo); break;
+            default:
+                for (UndoAction step : a.steps) stageRedo(st, step);
+        }
+    }
+
+    // Plays a sequence of changes on an overlay of the store, without touching the store;
+    // commit(steps) then applies them all. Each step only needs its skill to exist (or, for an
+    // insert, its ID to be free) as the earlier steps leave it. Name + Category uniqueness is
+    // checked once, on the final state (see conflict()), so e.g. two skills may swap names.
+    private final class Staging {
+        private final HashMap<String, Skill> byId = new HashMap<>();     // id -> skill after the staged steps (null = removed)
+        private final HashMap<String, Integer> lastStep = new HashMap<>(); // id -> index of the last step that changed it
+        final ArrayList<Skill[]> steps = new ArrayList<>();              // {before, after}; no before = insert, no after = remove
+
+        Skill get(String id) {
+            return byId.containsKey(id) ? byId.get(id) : findById(id);
+        }
+
+        void insert(Skill s) {
+            if (get(s.getId()) != null) throw new IllegalArgumentException("Duplicate skill: same ID already exists.");
+            stage(s.getId(), null, s);
+        }
+
+        void remove(String id) {
+            Skill s = get(id);
+            if (s == null) throw new IllegalArgumentException("Skill not found.");
+            stage(id, s, null);
+        }
+
+        void replace(String id, UnaryOperator<Skill> change) {
+            Skill s = get(id);
+            if (s == null) throw new IllegalArgumentException("Skill not found.");
+            stage(id, s, change.apply(s));
+        }
+
+        private void stage(String id, Skill before, Skill after) {
+            byId.put(id, after);
+            lastStep.put(id, steps.size());
+            steps.add(new Skill[] {before, after});
+        }
+
+        // Index of the step that leaves a duplicate Name + Category behind (the last step of
+        // the skill that ends up clashing, checked in step order); -1 if the final state is valid
+        int conflict() {
+            HashMap<String, String> owners = new HashMap<>(); // identity key -> staged id holding it
+            for (int i = 0; i < steps.size(); i++) {
+                Skill[] step = steps.get(i);
+                String id = (step[1] != null ? step[1] : step[0]).getId();
+                if (lastStep.get(id) != i) continue; // judged by its final state only
+                Skill s = byId.get(id);
+                if (s == null || s.identityKey() == null) continue;
+
+                String key = s.identityKey();
+                Skill other = byIdentity.get(key);
+                boolean takenInStore = other != null && !other.getId().equals(id) && !byId.containsKey(other.getId());
+                if (takenInStore || owners.putIfAbsent(key, id) != null) return i;
+            }
+            return -1;
+        }
+
+        // Throws if conflict() finds a clash (for callers that do not number their steps)
+        void verify() {
+            if (conflict() >= 0) throw new IllegalArgumentException("Duplicate skill: same Name + Category already exists.");
+        }
     }
 
     private void removeByIdNoUndo(String id) {
-        Skill s = findById(id);
+        Skill s = removeRow(id);
         if (s == null) return;
-        skills.remove(s);
-        deindexSkill(s);
         recentQueue.removeIf(x -> x.getId().equals(id));
     }
 
     private void updateNoUndo(String id, Skill data) {
         Skill existing = findById(id);
         if (existing == null) return;
+        replaceRow(existing, data.withId(id));
+    }
 
-        deindexSkill(existing);
-        existing.setName(data.getName());
-        existing.setCategory(data.getCategory());
-        existing.setLevel(data.getLevel());
-        existing.setYearLearned(data.getYearLearned());
-        existing.setCertification(data.getCertification());
-        indexSkill(existing);
+    // ---------- Change events ----------
+    // Listeners run on the mutating thread right after the write lock is released
+    // (see SkillChangeListener), so they may read the store but never block a writer.
+    public void addChangeListener(SkillChangeListener l) {
+        listeners.add(l);
+    }
+
+    public void removeChangeListener(SkillChangeListener l) {
+        listeners.remove(l);
+    }
+
+    // Called under the write lock: only collects the event
+    private void fire(SkillChangeEvent e) {
+        if (!listeners.isEmpty()) unpublished.add(e);
+    }
+
+    // End of a write, still under the lock: publish the new snapshot, then queue the
+    // write's events (each carrying that snapshot) for publish()
+    private void publishSnapshot() {
+        SkillVector.Snapshot snap = skills.snapshot();
+        current = snap;
+        if (unpublished.isEmpty()) return;
+        synchronized (pendingEvents) {
+            for (SkillChangeEvent e : unpublished) pendingEvents.add(e.in(snap, unpublished.size()));
+        }
+        unpublished.clear();
+    }
+
+    // Called after the write lock is released. One publisher at a time, so events from
+    // different writers still reach the listeners in the order they were made.
+    private void publish() {
+        synchronized (publishMonitor) {
+            while (true) {
+                List<SkillChangeEvent> batch;
+                synchronized (pendingEvents) {
+                    if (pendingEvents.isEmpty()) return;
+                    batch = new ArrayList<>(pendingEvents);
+                    pendingEvents.clear();
+                }
+                for (SkillChangeListener l : listeners) l.skillsChanged(batch);
+            }
+        }
+    }
+
+    // ---------- Locking ----------
+    // Lock-free attempt first; if a writer got in between, run again under the read lock.
+    // Only for bodies that read plain fields (e.g. a size): walking a HashMap or TreeMap that a
+    // writer is rehashing or rebalancing can throw or loop before validate() is reached.
+    private <T> T optimisticRead(Supplier<T> body) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            T v = body.get();
+            if (lock.validate(stamp)) return v;
+        }
+        return read(body);
     }
 
-    // ---------- CSV Persistence ----------
-    // Format: id,name,category,level,year,certification
+    private <T> T read(Supplier<T> body) {
+        if (turnstile.isLocked()) { // a writer is waiting: queue up behind it
+            turnstile.lock();
+            turnstile.unlock();
+        }
+        long stamp = lock.readLock();
+        try {
+            return body.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void write(Runnable body) {
+        write(() -> {
+            body.run();
+            return null;
+        });
+    }
+
+    private <T> T write(Supplier<T> body) {
+        long stamp = lock.tryWriteLock();
+        if (stamp == 0) { // readers (or another writer) inside: hold new readers back while waiting
+            turnstile.lock();
+            try {
+                stamp = lock.writeLock();
+            } finally {
+                turnstile.unlock();
+            }
+        }
+        try {
+            return body.get();
+        } finally {
+            publishSnapshot();
+            lock.unlockWrite(stamp);
+            publish();
+        }
+    }
+
+    // ---------- Persistence ----------
+    // Binary snapshot (or the legacy CSV) + journal replay = current state.
+    // Throws IllegalStateException if the snapshots are damaged beyond recovery.
     public void loadFromDisk() {
-        if (!Files.exists(dataPath)) return;
-
-        try (BufferedReader br = Files.newBufferedReader(dataPath)) {
-            skills.clear();
-            recentQueue.clear();
-            undoStack.clear();
-            byCategory.clear();
-
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] parts = splitCsvLine(line);
-                if (parts.length < 6) continue;
-
-                Skill s = new Skill(
-                        parts[0],
-                        parts[1],
-                        parts[2],
-                        ProficiencyLevel.fromString(parts[3]),
-                        Integer.parseInt(parts[4]),
-                        parts[5].isEmpty() ? null : parts[5]
-                );
-
-                skills.add(s);
-                indexSkill(s);
+        writer.awaitDurable(); // never read behind queued writes
+        write(this::reload);
+    }
+
+    private void reload() {
+        skills.clear();
+        recentQueue.clear();
+        undoLog.clear();
+        facets.clear();
+        stats.clear();
+        rowById.clear();
+        byIdentity.clear();
+        nameIndex.clear();
+        yearIndex.clear();
+        trigrams.clear();
+        nameTrie.clear();
+        categoryTrie.clear();
+
+        try {
+            List<Skill> loaded = readSnapshot(snapshotPath);
+            boolean previous = false;
+            if (loaded == null) {
+                loaded = readSnapshot(BinarySnapshot.previous(snapshotPath));
+                previous = loaded != null;
+            }
+            if (loaded == null) loaded = loadLegacyCsv();
+            for (Skill s : loaded) {
+                if (rowById.containsKey(s.getId())) continue; // repeated row in the file
+                insertRow(s);
             }
 
-            // recently added = last 5 items
-            int start = Math.max(0, skills.size() - 5);
-            for (int i = start; i < skills.size(); i++) {
-                pushRecent(skills.get(i));
+            // the previous snapshot is one checkpoint behind: the journal it had comes first
+            if (previous) journal.previous().replay(this::applyJournal);
+            journal.replay(this::applyJournal);
+            journalRecords = journal.size();
+            if (previous) {
+                recoveryCheckpoint(); // a readable newest snapshot again
+            } else if (journal.endedInTornBatch()) {
+                // An empty BEGIN .. COMMIT drops the torn batch for good, so records appended
+                // after it stay outside it even if the checkpoint below fails
+                marker(SkillJournal.Op.BEGIN);
+                marker(SkillJournal.Op.COMMIT);
+                checkpoint(); // start a clean journal after it
             }
 
         } catch (IOException e) {
             // Robust: do not crash
             System.err.println("Load failed (IOException): " + e.getMessage());
-        } catch (NumberFormatException e) {
-            System.err.println("Load failed (invalid year): " + e.getMessage());
         }
+
+        // recently added = last 5 items
+        int start = Math.max(0, skills.size() - 5);
+        for (int i = start; i < skills.size(); i++) {
+            pushRecent(skills.get(i));
+        }
+
+        fire(SkillChangeEvent.reloaded());
+    }
+
+    // null if the file is missing or damaged
+    private static List<Skill> readSnapshot(Path path) {
+        if (!Files.exists(path)) return null;
+        try {
+            return BinarySnapshot.read(path);
+        } catch (IOException e) {
+            System.err.println("Binary snapshot " + path.getFileName() + " unusable: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Only before the first checkpoint: after it, the CSV is never rewritten and the journal
+    // only holds changes made since, so the two together are a state that never existed.
+    // With no usable binary snapshot left, loading stops (IllegalStateException) instead of
+    // starting from that state, or from nothing, and overwriting the files with it.
+    private List<Skill> loadLegacyCsv() throws IOException {
+        if (Files.exists(snapshotPath) || Files.exists(BinarySnapshot.previous(snapshotPath))
+                || Files.exists(quarantinePath())) {
+            throw new IllegalStateException("The saved skills (" + snapshotPath + ") are damaged "
+                    + "and no earlier snapshot is usable. Nothing was loaded.");
+        }
+        if (!Files.exists(dataPath)) return new ArrayList<>();
+        return importCsvRows(dataPath);
     }
 
+    private static List<Skill> importCsvRows(Path csvPath) throws IOException {
+        CsvSnapshotLoader loader = new CsvSnapshotLoader();
+        List<Skill> rows = loader.load(csvPath);
+        if (loader.badRows() > 0) {
+            System.err.println("Load skipped " + loader.badRows() + " invalid row(s)");
+        }
+        return rows;
+    }
+
+    // Checkpoint: rewrite the binary snapshot, then drop the journal it replaces.
+    // Only an immutable snapshot of the rows is taken here (O(n / chunk)); columns are
+    // captured and written on the writer thread.
     public void saveToDisk() {
-        try (BufferedWriter bw = Files.newBufferedWriter(dataPath)) {
-            for (Skill s : skills) {
+        write(this::checkpoint);
+    }
+
+    private void checkpoint() {
+        List<Skill> rows = skills.snapshot();
+        journalRecords = 0;
+        writer.submitCheckpoint(() -> BinarySnapshot.capture(rows).write(snapshotPath));
+    }
+
+    // Checkpoint after loading from the previous snapshot. A plain one would keep the damaged
+    // snapshot as the previous one and the current journal as the previous journal, leaving no
+    // usable fallback. Instead the damaged file is moved aside (<name>.bad) first, so the
+    // previous snapshot stays, and the previous journal is folded into the current one, so
+    // the reset after the write keeps every record since that snapshot. Any of these steps
+    // may be cut short by a crash: the files left behind still load to the same state.
+    private void recoveryCheckpoint() {
+        List<Skill> rows = skills.snapshot();
+        journalRecords = 0;
+        writer.submitCheckpoint(() -> {
+            if (Files.exists(snapshotPath)) {
+                Files.move(snapshotPath, quarantinePath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            journal.foldPrevious();
+            BinarySnapshot.capture(rows).write(snapshotPath);
+        });
+    }
+
+    // Where a snapshot that failed verification is kept (for inspection; never read)
+    private Path quarantinePath() {
+        return snapshotPath.resolveSibling(snapshotPath.getFileName() + ".bad");
+    }
+
+    // CSV export (format: id,name,category,level,year,certification)
+    // Writes the current snapshot: no lock held, no copy made
+    public void exportCsv(Path target) throws IOException {
+        List<Skill> rows = current;
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (BufferedWriter bw = Files.newBufferedWriter(tmp)) {
+            for (Skill s : rows) {
                 bw.write(toCsvLine(s));
                 bw.newLine();
             }
-        } catch (IOException e) {
-            // Robust: do not crash
-            System.err.println("Save failed (IOException): " + e.getMessage());
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Durability for callers that need it (blocks until queued writes are on disk)
+    public void flush() {
+        writer.flush();
+    }
+
+    public void awaitDurable() {
+        writer.awaitDurable();
+    }
+
+    // Drains pending writes; the store must not be modified afterwards
+    public void close() {
+        writer.close();
+    }
+
+    // Queues one record; cost depends on the change, not on the store size
+    private void log(SkillJournal.Op op, Skill s) {
+        journal(op, s);
+        if (checkpointDue(journalRecords, skills.size())) checkpoint();
+    }
+
+    private void journal(SkillJournal.Op op, Skill s) {
+        writer.submitRecord(SkillJournal.encode(op, s));
+        journalRecords++;
+    }
+
+    private void marker(SkillJournal.Op op) {
+        writer.submitRecord(SkillJournal.encode(op));
+        journalRecords++;
+    }
+
+    private static boolean checkpointDue(int records, int rows) {
+        return records >= Math.max(CHECKPOINT_MIN_RECORDS, rows / 2);
+    }
+
+    // ADD/UPDATE replay as upserts so a record applied twice is harmless
+    private void applyJournal(SkillJournal.Op op, String id, Skill s) {
+        if (op == SkillJournal.Op.DELETE) {
+            removeByIdNoUndo(id);
+            return;
+        }
+        if (rowById.containsKey(s.getId())) {
+            updateNoUndo(s.getId(), s);
+        } else {
+            insertRow(s);
         }
     }
 
-    private String toCsvLine(Skill s) {
+    // Reads one record's fields; null if the record is too short.
+    // Year and level are decoded straight from the tokenizer's bytes.
+    static Skill readSkill(CsvTokenizer t) {
+        if (!t.nextField()) return null;
+        String id = t.string();
+        if (!t.nextField()) return null;
+        String name = t.string();
+        if (!t.nextField()) return null;
+        String category = t.string();
+        if (!t.nextField()) return null;
+        ProficiencyLevel level = ProficiencyLevel.fromAscii(t.bytes(), 0, t.length());
+        if (!t.nextField()) return null;
+        int year = t.intValue();
+        if (!t.nextField()) return null;
+        String cert = t.stringOrNull();
+
+        return new Skill(id, name, category, level, year, cert);
+    }
+
+    static String toCsvLine(Skill s) {
         return csv(s.getId()) + "," +
                csv(s.getName()) + "," +
                csv(s.getCategory()) + "," +
@@ -216,45 +1063,77 @@ public class SkillStore {
                csv(s.getCertification() == null ? "" : s.getCertification());
     }
 
-    private String csv(String x) {
+    static String csv(String x) {
         String v = (x == null) ? "" : x;
         v = v.replace("\"", "\"\"");
         return "\"" + v + "\"";
     }
 
-    // Minimal CSV split for quoted fields
-    private String[] splitCsvLine(String line) {
-        ArrayList<String> out = new ArrayList<>();
-        StringBuilder cur = new StringBuilder();
-        boolean inQuotes = false;
+    // ---------- Helpers ----------
+    private Skill findById(String id) {
+        Integer row = rowById.get(id);
+        return row == null ? null : skills.get(row);
+    }
 
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
+    // True if another skill (not exceptId) already has s's Name + Category
+    private boolean identityTaken(Skill s, String exceptId) {
+        return duplicateOf(s.getName(), s.getCategory(), exceptId) != null;
+    }
 
-            if (c == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    cur.append('"');
-                    i++;
-                } else {
-                    inQuotes = !inQuotes;
-                }
-            } else if (c == ',' && !inQuotes) {
-                out.add(cur.toString());
-                cur.setLength(0);
-            } else {
-                cur.append(c);
-            }
+    private Skill duplicateOf(String name, String category, String exceptId) {
+        String key = Skill.identityKey(name, category);
+        if (key == null) return null;
+        Skill other = byIdentity.get(key);
+        return (other == null || other.getId().equals(exceptId)) ? null : other;
+    }
+
+    // Same normalization as the tries (trimmed, lowercased)
+    private static String nameKey(String name) {
+        return PrefixTrie.normalize(name);
+    }
+
+    private void insertRow(Skill s) {
+        int row = skills.size();
+        rowById.put(s.getId(), row);
+        skills.add(s);
+        indexSkill(row, s);
+    }
+
+    // O(1) removal: the last row moves into the freed position
+    private Skill removeRow(String id) {
+        Integer row = rowById.remove(id);
+        if (row == null) return null;
+
+        Skill s = skills.get(row);
+        deindexSkill(row, s);
+
+        int lastRow = skills.size() - 1;
+        Skill last = skills.removeLast();
+        if (last != s) {
+            skills.set(row, last);
+            rowById.put(last.getId(), row);
+            // only row-keyed indexes care about the move
+            trigrams.remove(lastRow, last);
+            trigrams.add(row, last);
+            facets.remove(lastRow, last);
+            facets.add(row, last);
         }
-        out.add(cur.toString());
-        return out.toArray(new String[0]);
+        return s;
     }
 
-    // ---------- Helpers ----------
-    private Skill findById(String id) {
-        for (Skill s : skills) {
-            if (s.getId().equals(id)) return s;
+    // Edit: the new object takes the old one's row and index entries
+    private int replaceRow(Skill old, Skill replacement) {
+        int row = rowById.get(old.getId());
+        deindexSkill(row, old);
+        skills.set(row, replacement);
+        indexSkill(row, replacement);
+
+        // recent list keeps its order; only the object is swapped
+        for (int i = recentQueue.size(); i > 0; i--) {
+            Skill x = recentQueue.removeFirst();
+            recentQueue.addLast(x == old ? replacement : x);
         }
-        return null;
+        return row;
     }
 
     private void pushRecent(Skill s) {
@@ -264,16 +1143,29 @@ public class SkillStore {
         while (recentQueue.size() > 5) recentQueue.removeFirst();
     }
 
-    private void indexSkill(Skill s) {
-        String cat = s.getCategory() == null ? "Uncategorized" : s.getCategory().trim();
-        byCategory.putIfAbsent(cat, new ArrayList<>());
-        byCategory.get(cat).add(s);
+    private void indexSkill(int row, Skill s) {
+        String key = s.identityKey();
+        if (key != null) byIdentity.put(key, s);
+
+        nameIndex.add(s.getNameKey(), s);
+        yearIndex.add(s.getYearLearned(), s);
+        trigrams.add(row, s);
+        facets.add(row, s);
+        stats.add(s);
+        nameTrie.add(s.getName());
+        categoryTrie.add(s.getCategory());
     }
 
-    private void deindexSkill(Skill s) {
-        String cat = s.getCategory() == null ? "Uncategorized" : s.getCategory().trim();
-        if (!byCategory.containsKey(cat)) return;
-        byCategory.get(cat).removeIf(x -> x.getId().equals(s.getId()));
-        if (byCategory.get(cat).isEmpty()) byCategory.remove(cat);
+    private void deindexSkill(int row, Skill s) {
+        String key = s.identityKey();
+        if (key != null) byIdentity.remove(key, s);
+
+        nameIndex.remove(s.getNameKey(), s);
+        yearIndex.remove(s.getYearLearned(), s);
+        trigrams.remove(row, s);
+        facets.remove(row, s);
+        stats.remove(s);
+        nameTrie.remove(s.getName());
+        categoryTrie.remove(s.getCategory());
     }
 }
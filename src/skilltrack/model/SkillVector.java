@@ -0,0 +1,137 @@
+package skilltrack.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+// The store's rows, kept in fixed-size chunks so the whole list can be handed out as an
+// immutable Snapshot without copying it. A snapshot shares the chunks; the first write to a
+// chunk after a snapshot copies that one chunk, so a write costs O(CHUNK) and taking a
+// snapshot costs O(n / CHUNK) (the chunk directory), never O(n).
+// Only the store's writer touches a SkillVector; snapshots may be read from any thread.
+public class SkillVector extends AbstractList<Skill> implements RandomAccess {
+
+    private static final int SHIFT = 8;
+    private static final int CHUNK = 1 << SHIFT; // 256 rows
+    private static final int MASK = CHUNK - 1;
+
+    private Skill[][] chunks = new Skill[0][];
+    private long[] ownedAt = new long[0]; // version that last copied the chunk; older = shared
+    private int size = 0;
+    private long version = 0;             // bumped on the first change after a snapshot
+    private Snapshot snapshot = new Snapshot(chunks, 0, 0); // null once changed since
+
+    @Override
+    public Skill get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+        return chunks[index >>> SHIFT][index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(Skill s) {
+        int c = size >>> SHIFT;
+        if (c == chunks.length) {
+            int cap = Math.max(4, chunks.length * 2);
+            chunks = Arrays.copyOf(chunks, cap);
+            ownedAt = Arrays.copyOf(ownedAt, cap);
+        }
+        changed();
+        if (chunks[c] == null) {
+            chunks[c] = new Skill[CHUNK];
+            ownedAt[c] = version;
+        }
+        writable(c)[size & MASK] = s;
+        size++;
+        return true;
+    }
+
+    @Override
+    public Skill set(int index, Skill s) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+        changed();
+        Skill[] chunk = writable(index >>> SHIFT);
+        Skill old = chunk[index & MASK];
+        chunk[index & MASK] = s;
+        return old;
+    }
+
+    // Rows are only ever removed from the end (the store swaps the last row into a hole)
+    public Skill removeLast() {
+        if (size == 0) throw new IndexOutOfBoundsException("Empty");
+        changed();
+        int i = size - 1;
+        int c = i >>> SHIFT;
+        Skill s = chunks[c][i & MASK];
+        if ((i & MASK) == 0) {
+            chunks[c] = null; // chunk now empty: drop it (a snapshot may still hold it)
+        } else {
+            writable(c)[i & MASK] = null;
+        }
+        size--;
+        return s;
+    }
+
+    @Override
+    public void clear() {
+        changed();
+        chunks = new Skill[0][];
+        ownedAt = new long[0];
+        size = 0;
+    }
+
+    // Immutable view of the current rows; the same one until the next change
+    public Snapshot snapshot() {
+        if (snapshot == null) {
+            int used = (size + MASK) >>> SHIFT;
+            snapshot = new Snapshot(Arrays.copyOf(chunks, used), size, version);
+        }
+        return snapshot;
+    }
+
+    // Call after changed(): chunks copied before the last snapshot are still shared
+    private Skill[] writable(int c) {
+        if (ownedAt[c] != version) {
+            chunks[c] = chunks[c].clone();
+            ownedAt[c] = version;
+        }
+        return chunks[c];
+    }
+
+    private void changed() {
+        modCount++;
+        if (snapshot != null) {
+            snapshot = null;
+            version++;
+        }
+    }
+
+    // ---------- Snapshot (read-only, never changes) ----------
+    // version grows with every change, so a newer snapshot always has a larger one
+    public static final class Snapshot extends AbstractList<Skill> implements RandomAccess {
+        private final Skill[][] chunks;
+        private final int size;
+        public final long version;
+
+        private Snapshot(Skill[][] chunks, int size, long version) {
+            this.chunks = chunks;
+            this.size = size;
+            this.version = version;
+        }
+
+        @Override
+        public Skill get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+            return chunks[index >>> SHIFT][index & MASK];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
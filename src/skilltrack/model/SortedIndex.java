@@ -0,0 +1,105 @@
+package skilltrack.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+// Ordered secondary index: key -> skills with that key.
+// Keys live in a red-black tree (O(log n) add/remove/lookup); skills sharing a key
+// keep their insertion order, so full scans match what a stable sort would give.
+public class SortedIndex<K extends Comparable<K>> {
+
+    private final TreeMap<K, LinkedHashMap<String, Skill>> tree = new TreeMap<>();
+    private int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public void add(K key, Skill s) {
+        if (tree.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(s.getId(), s) == null) size++;
+    }
+
+    public void remove(K key, Skill s) {
+        LinkedHashMap<String, Skill> bucket = tree.get(key);
+        if (bucket == null || bucket.remove(s.getId()) == null) return;
+        size--;
+        if (bucket.isEmpty()) tree.remove(key);
+    }
+
+    public void clear() {
+        tree.clear();
+        size = 0;
+    }
+
+    // First skill (in insertion order) with exactly this key, or null
+    public Skill first(K key) {
+        LinkedHashMap<String, Skill> bucket = tree.get(key);
+        return bucket == null ? null : bucket.values().iterator().next();
+    }
+
+    public List<Skill> get(K key) {
+        LinkedHashMap<String, Skill> bucket = tree.get(key);
+        return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket.values());
+    }
+
+    // All skills with from <= key <= to, in key order: O(log n + k)
+    public List<Skill> range(K from, K to) {
+        if (from.compareTo(to) > 0) return new ArrayList<>();
+        return collect(tree.subMap(from, true, to, true), 16);
+    }
+
+    // Same range without building a list (stops early if the visitor returns false)
+    public void forEachInRange(K from, K to, Predicate<Skill> visitor) {
+        forEachInRange(from, to, true, visitor);
+    }
+
+    // null bounds are open; descending walks keys high to low (equal keys still in insertion order)
+    public void forEachInRange(K from, K to, boolean ascending, Predicate<Skill> visitor) {
+        NavigableMap<K, LinkedHashMap<String, Skill>> view = view(from, to);
+        if (!ascending) view = view.descendingMap();
+        for (LinkedHashMap<String, Skill> bucket : view.values()) {
+            for (Skill s : bucket.values()) {
+                if (!visitor.test(s)) return;
+            }
+        }
+    }
+
+    // How many skills have from <= key <= to (null = open): O(log n + distinct keys in range)
+    public int count(K from, K to) {
+        if (from == null && to == null) return size;
+        int n = 0;
+        for (LinkedHashMap<String, Skill> bucket : view(from, to).values()) n += bucket.size();
+        return n;
+    }
+
+    // Every skill in key order (equal keys keep insertion order either way, like a stable sort)
+    public List<Skill> ascending() {
+        return collect(tree, size);
+    }
+
+    public List<Skill> descending() {
+        return collect(tree.descendingMap(), size);
+    }
+
+    private NavigableMap<K, LinkedHashMap<String, Skill>> view(K from, K to) {
+        if (from != null && to != null) {
+            return from.compareTo(to) > 0 ? new TreeMap<>() : tree.subMap(from, true, to, true);
+        }
+        if (from != null) return tree.tailMap(from, true);
+        if (to != null) return tree.headMap(to, true);
+        return tree;
+    }
+
+    private List<Skill> collect(NavigableMap<K, LinkedHashMap<String, Skill>> view, int capacity) {
+        ArrayList<Skill> out = new ArrayList<>(capacity);
+        for (Map.Entry<K, LinkedHashMap<String, Skill>> e : view.entrySet()) {
+            out.addAll(e.getValue().values());
+        }
+        return out;
+    }
+}
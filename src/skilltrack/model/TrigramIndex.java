@@ -0,0 +1,88 @@
+package skilltrack.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Comparator;
+import skilltrack.util.SortedIntList;
+
+// Trigram inverted index over name / category / certification (lowercased).
+// trigram -> sorted list of rows containing it. A substring query of length >= 3 is
+// answered by intersecting the posting lists of its trigrams (shortest first); the
+// caller then verifies the few candidates, since trigrams may come from different fields.
+public class TrigramIndex {
+
+    public static final int MIN_QUERY = 3;
+
+    private final HashMap<Long, SortedIntList> postings = new HashMap<>();
+
+    // Every field uses the skill's cached key; queries are trimmed, so the trimmed keys
+    // hold every trigram a match can use
+    public void add(int row, Skill s) {
+        addField(row, s.getNameKey());
+        addField(row, s.getCategoryKey());
+        addField(row, s.getCertificationKey());
+    }
+
+    public void remove(int row, Skill s) {
+        removeField(row, s.getNameKey());
+        removeField(row, s.getCategoryKey());
+        removeField(row, s.getCertificationKey());
+    }
+
+    public void clear() {
+        postings.clear();
+    }
+
+    // Candidate rows (ascending) for an already-lowercased query of length >= MIN_QUERY
+    public int[] candidates(String q) {
+        ArrayList<SortedIntList> lists = new ArrayList<>();
+        for (int i = 0; i + MIN_QUERY <= q.length(); i++) {
+            SortedIntList p = postings.get(key(q, i));
+            if (p == null) return new int[0]; // some trigram occurs nowhere
+            lists.add(p);
+        }
+        lists.sort(Comparator.comparingInt(SortedIntList::size));
+
+        int[] rows = lists.get(0).toArray();
+        int n = rows.length;
+        for (int i = 1; i < lists.size() && n > 0; i++) {
+            n = lists.get(i).retainInto(rows, n);
+        }
+        int[] out = new int[n];
+        System.arraycopy(rows, 0, out, 0, n);
+        return out;
+    }
+
+    // Upper bound on candidates(q).length without intersecting: the shortest posting list
+    public int estimate(String q) {
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i + MIN_QUERY <= q.length(); i++) {
+            SortedIntList p = postings.get(key(q, i));
+            if (p == null) return 0;
+            best = Math.min(best, p.size());
+        }
+        return best;
+    }
+
+    private void addField(int row, String f) {
+        if (f == null) return;
+        for (int i = 0; i + MIN_QUERY <= f.length(); i++) {
+            postings.computeIfAbsent(key(f, i), k -> new SortedIntList()).add(row);
+        }
+    }
+
+    private void removeField(int row, String f) {
+        if (f == null) return;
+        for (int i = 0; i + MIN_QUERY <= f.length(); i++) {
+            Long k = key(f, i);
+            SortedIntList p = postings.get(k);
+            if (p == null) continue;
+            p.remove(row);
+            if (p.isEmpty()) postings.remove(k);
+        }
+    }
+
+    private static Long key(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+}
@@ -1,39 +1,133 @@
 package skilltrack.model;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+// One entry of the undo log: an add, an update, a delete, or a batch of them that is undone
+// and redone as one. Skills are immutable, so adds and deletes keep the Skill itself (no copy)
+// and an update keeps only the fields it changed.
 public class UndoAction {
-    public enum Type { ADD, DELETE, UPDATE }
+    public enum Type { ADD, DELETE, UPDATE, BATCH }
+
+    // rough heap sizes used for the log's byte budget
+    private static final int ENTRY_BYTES = 48;
+    private static final int SKILL_BYTES = 64;
 
     public final Type type;
-    public final Skill before; // for UPDATE/DELETE
-    public final Skill after;  // for UPDATE/ADD
+    public final String id;              // ADD / DELETE / UPDATE
+    public final Skill skill;            // ADD / DELETE
+    public final Delta delta;            // UPDATE
+    public final List<UndoAction> steps; // BATCH, in the order they were made
+    public final long bytes;
 
-    private UndoAction(Type type, Skill before, Skill after) {
+    private UndoAction(Type type, String id, Skill skill, Delta delta, List<UndoAction> steps, long bytes) {
         this.type = type;
-        this.before = before;
-        this.after = after;
+        this.id = id;
+        this.skill = skill;
+        this.delta = delta;
+        this.steps = steps;
+        this.bytes = bytes;
     }
 
+    // The added skill is still in the store, so the entry only adds a reference
     public static UndoAction add(Skill added) {
-        return new UndoAction(Type.ADD, null, cloneSkill(added));
+        return new UndoAction(Type.ADD, added.getId(), added, null, null, ENTRY_BYTES);
     }
 
+    // The entry is what keeps a deleted skill alive
     public static UndoAction delete(Skill deleted) {
-        return new UndoAction(Type.DELETE, cloneSkill(deleted), null);
+        return new UndoAction(Type.DELETE, deleted.getId(), deleted, null, null, ENTRY_BYTES + skillBytes(deleted));
     }
 
+    // null if nothing changed
     public static UndoAction update(Skill before, Skill after) {
-        return new UndoAction(Type.UPDATE, cloneSkill(before), cloneSkill(after));
-    }
-
-    private static Skill cloneSkill(Skill s) {
-        if (s == null) return null;
-        return new Skill(
-                s.getId(),
-                s.getName(),
-                s.getCategory(),
-                s.getLevel(),
-                s.getYearLearned(),
-                s.getCertification()
-        );
+        Delta d = Delta.between(before, after);
+        if (d == null) return null;
+        return new UndoAction(Type.UPDATE, before.getId(), null, d, null, ENTRY_BYTES + d.bytes());
+    }
+
+    // A single step is returned as is; null if there are no steps
+    public static UndoAction batch(List<UndoAction> steps) {
+        if (steps.isEmpty()) return null;
+        if (steps.size() == 1) return steps.get(0);
+        long bytes = ENTRY_BYTES + 16L + 4L * steps.size();
+        for (UndoAction a : steps) bytes += a.bytes;
+        return new UndoAction(Type.BATCH, null, null, null,
+                Collections.unmodifiableList(new ArrayList<>(steps)), bytes);
+    }
+
+    private static long skillBytes(Skill s) {
+        return SKILL_BYTES + stringBytes(s.getId()) + stringBytes(s.getName())
+                + stringBytes(s.getCategory()) + stringBytes(s.getCertification());
+    }
+
+    private static long stringBytes(String s) {
+        return s == null ? 0 : 40 + 2L * s.length();
+    }
+
+    // ---------- Delta (changed fields only) ----------
+    // One bit per changed field; values holds old and new value side by side, in field order
+    public static final class Delta {
+        private static final int NAME = 1, CATEGORY = 2, LEVEL = 4, YEAR = 8, CERTIFICATION = 16;
+
+        private final int fields;
+        private final Object[] values;
+
+        private Delta(int fields, Object[] values) {
+            this.fields = fields;
+            this.values = values;
+        }
+
+        static Delta between(Skill a, Skill b) {
+            ArrayList<Object> v = new ArrayList<>(4);
+            int f = 0;
+            if (!Objects.equals(a.getName(), b.getName())) { f |= NAME; v.add(a.getName()); v.add(b.getName()); }
+            if (!Objects.equals(a.getCategory(), b.getCategory())) { f |= CATEGORY; v.add(a.getCategory()); v.add(b.getCategory()); }
+            if (a.getLevel() != b.getLevel()) { f |= LEVEL; v.add(a.getLevel()); v.add(b.getLevel()); }
+            if (a.getYearLearned() != b.getYearLearned()) { f |= YEAR; v.add(a.getYearLearned()); v.add(b.getYearLearned()); }
+            if (!Objects.equals(a.getCertification(), b.getCertification())) {
+                f |= CERTIFICATION;
+                v.add(a.getCertification());
+                v.add(b.getCertification());
+            }
+            return f == 0 ? null : new Delta(f, v.toArray());
+        }
+
+        // current with the changed fields set back to their old / new values
+        public Skill undo(Skill current) {
+            return apply(current, 0);
+        }
+
+        public Skill redo(Skill current) {
+            return apply(current, 1);
+        }
+
+        private Skill apply(Skill s, int side) {
+            String name = s.getName();
+            String category = s.getCategory();
+            ProficiencyLevel level = s.getLevel();
+            int year = s.getYearLearned();
+            String cert = s.getCertification();
+
+            int i = side;
+            if ((fields & NAME) != 0) { name = (String) values[i]; i += 2; }
+            if ((fields & CATEGORY) != 0) { category = (String) values[i]; i += 2; }
+            if ((fields & LEVEL) != 0) { level = (ProficiencyLevel) values[i]; i += 2; }
+            if ((fields & YEAR) != 0) { year = (Integer) values[i]; i += 2; }
+            if ((fields & CERTIFICATION) != 0) cert = (String) values[i];
+
+            return new Skill(s.getId(), name, category, level, year, cert);
+        }
+
+        long bytes() {
+            long n = 16 + 16 + 4L * values.length;
+            for (Object o : values) {
+                if (o instanceof String) n += stringBytes((String) o);
+                else if (o instanceof Integer) n += 16;
+            }
+            return n;
+        }
     }
 }
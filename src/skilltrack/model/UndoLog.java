@@ -0,0 +1,80 @@
+package skilltrack.model;
+
+import java.util.ArrayDeque;
+
+// Undo / redo history. Recording a new change clears what could be redone.
+// Bounded by entry count and by (estimated) bytes: the oldest undo entries are dropped
+// first, but the newest one is always kept, however large.
+public class UndoLog {
+
+    public static final int DEFAULT_MAX_ENTRIES = 500;
+    public static final long DEFAULT_MAX_BYTES = 4L * 1024 * 1024;
+
+    private final ArrayDeque<UndoAction> undo = new ArrayDeque<>();
+    private final ArrayDeque<UndoAction> redo = new ArrayDeque<>();
+    private final int maxEntries;
+    private final long maxBytes;
+    private long bytes = 0; // both sides
+
+    public UndoLog() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    public UndoLog(int maxEntries, long maxBytes) {
+        if (maxEntries < 1 || maxBytes < 1) throw new IllegalArgumentException("Undo limits must be positive.");
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    public void record(UndoAction a) {
+        if (a == null) return;
+        for (UndoAction r : redo) bytes -= r.bytes;
+        redo.clear();
+
+        undo.push(a);
+        bytes += a.bytes;
+        while (undo.size() > 1 && (undo.size() > maxEntries || bytes > maxBytes)) {
+            bytes -= undo.removeLast().bytes;
+        }
+    }
+
+    // The entries the next undo / redo would apply (null if none)
+    public UndoAction nextUndo() {
+        return undo.peek();
+    }
+
+    public UndoAction nextRedo() {
+        return redo.peek();
+    }
+
+    // Called once nextUndo() / nextRedo() has been applied
+    public void undone() {
+        redo.push(undo.pop());
+    }
+
+    public void redone() {
+        undo.push(redo.pop());
+    }
+
+    public boolean canUndo() {
+        return !undo.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redo.isEmpty();
+    }
+
+    public int size() {
+        return undo.size() + redo.size();
+    }
+
+    public long bytes() {
+        return bytes;
+    }
+
+    public void clear() {
+        undo.clear();
+        redo.clear();
+        bytes = 0;
+    }
+}
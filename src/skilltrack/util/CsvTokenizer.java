@@ -0,0 +1,143 @@
+package skilltrack.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Streaming CSV tokenizer over a byte buffer (UTF-8).
+// One instance is reused for a whole file: fields are unescaped into a shared
+// scratch array, so the only allocations are the Strings a caller asks for.
+//
+//   t.reset(buf, start, end);
+//   while (t.nextRecord()) {
+//       while (t.nextField()) { ... t.string() / t.intValue() / t.bytes() ... }
+//   }
+public final class CsvTokenizer {
+
+    private ByteBuffer buf;
+    private int pos;
+    private int end;
+
+    private boolean recordDone = true; // no fields left in the current record
+    private boolean terminated = false; // current record ended with '\n'
+
+    private byte[] field = new byte[64];
+    private int fieldLen = 0;
+
+    public void reset(ByteBuffer buf, int start, int end) {
+        this.buf = buf;
+        this.pos = start;
+        this.end = end;
+        this.recordDone = true;
+        this.terminated = false;
+        this.fieldLen = 0;
+    }
+
+    // Offset where the next record starts (valid between records)
+    public int position() {
+        return pos;
+    }
+
+    // Moves to the next record, skipping whatever is left of the current one
+    public boolean nextRecord() {
+        endRecord();
+        if (pos >= end) return false;
+        recordDone = false;
+        terminated = false;
+        return true;
+    }
+
+    // Skips the remaining fields; true if the record was closed by a newline
+    // (false means the buffer ended mid-record, e.g. a torn write)
+    public boolean endRecord() {
+        while (!recordDone) nextField();
+        return terminated;
+    }
+
+    public boolean nextField() {
+        if (recordDone) return false;
+        fieldLen = 0;
+
+        if (pos < end && buf.get(pos) == '"') {
+            pos++;
+            while (pos < end) {
+                byte b = buf.get(pos++);
+                if (b != '"') {
+                    append(b);
+                } else if (pos < end && buf.get(pos) == '"') {
+                    append(b); // "" -> "
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+        }
+
+        // Unquoted content, or anything between a closing quote and the delimiter
+        while (pos < end) {
+            byte b = buf.get(pos++);
+            if (b == ',') return true;
+            if (b == '\n') {
+                if (fieldLen > 0 && field[fieldLen - 1] == '\r') fieldLen--;
+                recordDone = true;
+                terminated = true;
+                return true;
+            }
+            append(b);
+        }
+        recordDone = true;
+        return true;
+    }
+
+    // ---------- Current field ----------
+    public int length() {
+        return fieldLen;
+    }
+
+    // Shared scratch array: valid up to length(), overwritten by the next field
+    public byte[] bytes() {
+        return field;
+    }
+
+    public String string() {
+        return new String(field, 0, fieldLen, StandardCharsets.UTF_8);
+    }
+
+    public String stringOrNull() {
+        return fieldLen == 0 ? null : string();
+    }
+
+    // Parses the field as a decimal int without creating a String
+    public int intValue() {
+        int i = 0;
+        int n = fieldLen;
+        while (i < n && field[i] == ' ') i++;
+        while (n > i && field[n - 1] == ' ') n--;
+
+        boolean negative = false;
+        if (i < n && (field[i] == '-' || field[i] == '+')) {
+            negative = field[i] == '-';
+            i++;
+        }
+        if (i >= n) throw new NumberFormatException("For input string: \"" + string() + "\"");
+
+        long v = 0;
+        for (; i < n; i++) {
+            int d = field[i] - '0';
+            if (d < 0 || d > 9) throw new NumberFormatException("For input string: \"" + string() + "\"");
+            v = v * 10 + d;
+            if (v > (long) Integer.MAX_VALUE + 1) throw new NumberFormatException("Out of range: \"" + string() + "\"");
+        }
+        v = negative ? -v : v;
+        if (v > Integer.MAX_VALUE) throw new NumberFormatException("Out of range: \"" + string() + "\"");
+        return (int) v;
+    }
+
+    private void append(byte b) {
+        if (fieldLen == field.length) {
+            byte[] bigger = new byte[field.length * 2];
+            System.arraycopy(field, 0, bigger, 0, fieldLen);
+            field = bigger;
+        }
+        field[fieldLen++] = b;
+    }
+}
@@ -0,0 +1,50 @@
+package skilltrack.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Read-only sorted view that only sorts as far as it is read.
+// get(i) extends the known sorted prefix with TopK (doubling it each time), and falls back
+// to one full MergeSort once a read reaches past the first quarter. A table showing the
+// first screen therefore costs O(n log k) instead of a full sort.
+public class LazySortedList<T> extends AbstractList<T> {
+
+    private static final int FIRST_PREFIX = 256;
+
+    private final List<T> source;  // read, not copied: must not change (e.g. a store snapshot)
+    private final Comparator<? super T> cmp;
+    private List<T> prefix = new ArrayList<>();
+    private boolean complete = false;
+
+    public LazySortedList(List<T> input, Comparator<? super T> cmp) {
+        this.source = input;
+        this.cmp = cmp;
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= source.size()) throw new IndexOutOfBoundsException("Index: " + index);
+        ensure(index + 1);
+        return prefix.get(index);
+    }
+
+    private void ensure(int end) {
+        if (complete || end <= prefix.size()) return;
+
+        int n = source.size();
+        int k = Math.max(end, Math.max(FIRST_PREFIX, prefix.size() * 2));
+        if (k > n / 4) {
+            prefix = MergeSort.sort(source, cmp);
+            complete = true;
+        } else {
+            prefix = TopK.topK(source, cmp, k);
+        }
+    }
+}
@@ -1,44 +1,111 @@
 package skilltrack.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+// Stable merge sort over an array with one scratch copy.
+// Each level merges from one array into the other (ping-pong), so nothing is allocated
+// below the top; short runs use insertion sort, and already-ordered halves are copied
+// instead of merged. Above PARALLEL_MIN elements the halves run as fork/join tasks.
 public class MergeSort {
 
-    public static <T> ArrayList<T> sort(List<T> input, Comparator<T> cmp) {
-        ArrayList<T> arr = new ArrayList<>(input);
-        if (arr.size() <= 1) return arr;
-        return mergeSort(arr, cmp);
+    static final int INSERTION_MAX = 32;
+    static final int PARALLEL_MIN = 1 << 13;
+
+    public static <T> ArrayList<T> sort(List<T> input, Comparator<? super T> cmp) {
+        @SuppressWarnings("unchecked")
+        T[] a = (T[]) input.toArray();
+        sort(a, cmp);
+        return new ArrayList<>(Arrays.asList(a));
+    }
+
+    // Sorts a in place
+    public static <T> void sort(T[] a, Comparator<? super T> cmp) {
+        sort(a, cmp, ForkJoinPool.commonPool());
+    }
+
+    // Same, with large inputs split over the given pool
+    public static <T> void sort(T[] a, Comparator<? super T> cmp, ForkJoinPool pool) {
+        int n = a.length;
+        if (n <= 1) return;
+        if (n <= INSERTION_MAX) {
+            insertionSort(a, 0, n, cmp);
+            return;
+        }
+
+        T[] scratch = a.clone();
+        if (n < PARALLEL_MIN) {
+            sort(scratch, a, 0, n, cmp);
+        } else {
+            pool.invoke(new SortTask<>(scratch, a, 0, n, cmp));
+        }
     }
 
-    private static <T> ArrayList<T> mergeSort(ArrayList<T> arr, Comparator<T> cmp) {
-        int n = arr.size();
-        if (n <= 1) return arr;
+    // src[lo, hi) and dst[lo, hi) start out equal; leaves the sorted run in dst
+    private static <T> void sort(T[] src, T[] dst, int lo, int hi, Comparator<? super T> cmp) {
+        if (hi - lo <= INSERTION_MAX) {
+            insertionSort(dst, lo, hi, cmp);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        sort(dst, src, lo, mid, cmp);
+        sort(dst, src, mid, hi, cmp);
+        merge(src, dst, lo, mid, hi, cmp);
+    }
 
-        int mid = n / 2;
-        ArrayList<T> left = new ArrayList<>(arr.subList(0, mid));
-        ArrayList<T> right = new ArrayList<>(arr.subList(mid, n));
+    private static final class SortTask<T> extends RecursiveAction {
+        private final T[] src;
+        private final T[] dst;
+        private final int lo;
+        private final int hi;
+        private final Comparator<? super T> cmp;
 
-        left = mergeSort(left, cmp);
-        right = mergeSort(right, cmp);
+        SortTask(T[] src, T[] dst, int lo, int hi, Comparator<? super T> cmp) {
+            this.src = src;
+            this.dst = dst;
+            this.lo = lo;
+            this.hi = hi;
+            this.cmp = cmp;
+        }
 
-        return merge(left, right, cmp);
+        @Override
+        protected void compute() {
+            if (hi - lo < PARALLEL_MIN) {
+                sort(src, dst, lo, hi, cmp);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask<>(dst, src, lo, mid, cmp), new SortTask<>(dst, src, mid, hi, cmp));
+            merge(src, dst, lo, mid, hi, cmp);
+        }
     }
 
-    private static <T> ArrayList<T> merge(ArrayList<T> left, ArrayList<T> right, Comparator<T> cmp) {
-        ArrayList<T> out = new ArrayList<>(left.size() + right.size());
-        int i = 0, j = 0;
+    // Merges the sorted runs src[lo, mid) and src[mid, hi) into dst; ties take the left run (stable)
+    private static <T> void merge(T[] src, T[] dst, int lo, int mid, int hi, Comparator<? super T> cmp) {
+        if (cmp.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, lo, dst, lo, hi - lo); // already in order
+            return;
+        }
+        int i = lo, j = mid;
+        for (int k = lo; k < hi; k++) {
+            if (j >= hi || (i < mid && cmp.compare(src[i], src[j]) <= 0)) dst[k] = src[i++];
+            else dst[k] = src[j++];
+        }
+    }
 
-        while (i < left.size() && j < right.size()) {
-            if (cmp.compare(left.get(i), right.get(j)) <= 0) {
-                out.add(left.get(i++));
-            } else {
-                out.add(right.get(j++));
+    private static <T> void insertionSort(T[] a, int lo, int hi, Comparator<? super T> cmp) {
+        for (int i = lo + 1; i < hi; i++) {
+            T x = a[i];
+            int j = i - 1;
+            while (j >= lo && cmp.compare(a[j], x) > 0) {
+                a[j + 1] = a[j];
+                j--;
             }
+            a[j + 1] = x;
         }
-        while (i < left.size()) out.add(left.get(i++));
-        while (j < right.size()) out.add(right.get(j++));
-        return out;
     }
 }
@@ -0,0 +1,191 @@
+package skilltrack.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Prefix trie over normalized (trimmed, lowercased) words, with a count per word so the
+// same word may be added several times and removed again. Children are kept in sorted
+// char arrays, which makes completion order alphabetical.
+// complete(prefix, k) walks down the prefix and then collects up to k words: O(prefix + k * depth).
+// fuzzy(word, k) runs a Levenshtein automaton over the same nodes for typo-tolerant lookups.
+public class PrefixTrie {
+
+    private static final class Node {
+        char[] keys = new char[0];
+        Node[] kids = new Node[0];
+        int count;    // how many times this exact word is present
+        String word;  // display form (first one added)
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? kids[i] : null;
+        }
+
+        Node addChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) return kids[i];
+            i = -i - 1;
+            char[] k = new char[keys.length + 1];
+            Node[] n = new Node[kids.length + 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(kids, 0, n, 0, i);
+            System.arraycopy(keys, i, k, i + 1, keys.length - i);
+            System.arraycopy(kids, i, n, i + 1, kids.length - i);
+            k[i] = c;
+            n[i] = new Node();
+            keys = k;
+            kids = n;
+            return n[i];
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i < 0) return;
+            char[] k = new char[keys.length - 1];
+            Node[] n = new Node[kids.length - 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(kids, 0, n, 0, i);
+            System.arraycopy(keys, i + 1, k, i, keys.length - i - 1);
+            System.arraycopy(kids, i + 1, n, i, kids.length - i - 1);
+            keys = k;
+            kids = n;
+        }
+    }
+
+    private Node root = new Node();
+
+    public static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase();
+    }
+
+    public void add(String word) {
+        String key = normalize(word);
+        if (key.isEmpty()) return;
+
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) node = node.addChild(key.charAt(i));
+        if (node.count++ == 0) node.word = word.trim();
+    }
+
+    public void remove(String word) {
+        String key = normalize(word);
+        if (key.isEmpty()) return;
+
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) return;
+        }
+
+        Node node = path[key.length()];
+        if (node.count == 0) return;
+        if (--node.count > 0) return;
+        node.word = null;
+
+        // prune nodes that no longer lead to any word
+        for (int i = key.length(); i > 0; i--) {
+            Node n = path[i];
+            if (n.count > 0 || n.keys.length > 0) break;
+            path[i - 1].removeChild(key.charAt(i - 1));
+        }
+    }
+
+    public boolean contains(String word) {
+        Node node = find(normalize(word));
+        return node != null && node.count > 0;
+    }
+
+    public void clear() {
+        root = new Node();
+    }
+
+    // Up to k stored words starting with prefix, alphabetical
+    public List<String> complete(String prefix, int k) {
+        ArrayList<String> out = new ArrayList<>();
+        Node start = find(normalize(prefix));
+        if (start == null || k <= 0) return out;
+        collect(start, k, out);
+        return out;
+    }
+
+    // ---------- Fuzzy lookup (Levenshtein automaton walked over the trie) ----------
+    public static final class Match {
+        public final String key;   // normalized word
+        public final int distance;
+
+        Match(String key, int distance) {
+            this.key = key;
+            this.distance = distance;
+        }
+    }
+
+    // Stored words within maxDistance edits of word, closest first (ties alphabetical).
+    // One DP row per trie level; a branch is dropped as soon as its whole row exceeds
+    // maxDistance, so only the part of the trie near the query is visited.
+    public List<Match> fuzzy(String word, int maxDistance) {
+        ArrayList<Match> out = new ArrayList<>();
+        String q = normalize(word);
+        if (maxDistance < 0) return out;
+
+        int[] first = new int[q.length() + 1];
+        for (int j = 0; j < first.length; j++) first[j] = j;
+
+        ArrayList<int[]> rows = new ArrayList<>();
+        rows.add(first);
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < root.keys.length; i++) {
+            walk(root.kids[i], root.keys[i], q, maxDistance, rows, 1, path, out);
+        }
+        out.sort((a, b) -> a.distance != b.distance ? Integer.compare(a.distance, b.distance) : a.key.compareTo(b.key));
+        return out;
+    }
+
+    private static void walk(Node node, char c, String q, int k, ArrayList<int[]> rows, int depth,
+                             StringBuilder path, List<Match> out) {
+        if (rows.size() <= depth) rows.add(new int[q.length() + 1]);
+        int[] prev = rows.get(depth - 1);
+        int[] row = rows.get(depth);
+
+        row[0] = prev[0] + 1;
+        int best = row[0];
+        for (int j = 1; j <= q.length(); j++) {
+            int cost = q.charAt(j - 1) == c ? 0 : 1;
+            row[j] = Math.min(Math.min(row[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            best = Math.min(best, row[j]);
+        }
+        if (best > k) return;
+
+        path.append(c);
+        if (node.count > 0 && row[q.length()] <= k) out.add(new Match(path.toString(), row[q.length()]));
+        for (int i = 0; i < node.keys.length; i++) {
+            walk(node.kids[i], node.keys[i], q, k, rows, depth + 1, path, out);
+        }
+        path.setLength(path.length() - 1);
+    }
+
+    // Nodes in the trie, root included (lets tests check that removals prune)
+    int nodeCount() {
+        return nodeCount(root);
+    }
+
+    private static int nodeCount(Node node) {
+        int n = 1;
+        for (Node kid : node.kids) n += nodeCount(kid);
+        return n;
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) node = node.child(key.charAt(i));
+        return node;
+    }
+
+    private static void collect(Node node, int k, List<String> out) {
+        if (node.count > 0) out.add(node.word);
+        for (int i = 0; i < node.kids.length && out.size() < k; i++) {
+            collect(node.kids[i], k, out);
+        }
+    }
+}
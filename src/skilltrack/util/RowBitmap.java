@@ -0,0 +1,414 @@
+package skilltrack.util;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+// Compressed set of row numbers (a small take on roaring bitmaps).
+// Rows are grouped by their high 16 bits into chunks: a chunk holding up to 4096 rows is a
+// sorted char[] (2 bytes per row), a denser one is a flat 65536-bit long[] (8 KB).
+// and / or / andNot work chunk by chunk (word-wise for dense chunks), so facet counts
+// cost O(chunks) for dense sets instead of a pass over the rows.
+public final class RowBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+
+    private char[] keys = new char[0]; // high 16 bits, ascending
+    private Chunk[] chunks = new Chunk[0];
+    private int size = 0;              // chunks in use
+
+    // ---------- Single rows ----------
+    public void add(int row) {
+        char hi = (char) (row >>> 16);
+        int i = find(hi);
+        if (i < 0) {
+            i = -i - 1;
+            insert(i, hi, new ArrayChunk(4));
+        }
+        chunks[i] = chunks[i].add((char) row);
+    }
+
+    public void remove(int row) {
+        int i = find((char) (row >>> 16));
+        if (i < 0) return;
+        Chunk c = chunks[i].remove((char) row);
+        if (c.cardinality() == 0) {
+            System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+            System.arraycopy(chunks, i + 1, chunks, i, size - i - 1);
+            chunks[--size] = null;
+        } else {
+            chunks[i] = c;
+        }
+    }
+
+    public boolean contains(int row) {
+        int i = find((char) (row >>> 16));
+        return i >= 0 && chunks[i].contains((char) row);
+    }
+
+    public void clear() {
+        keys = new char[0];
+        chunks = new Chunk[0];
+        size = 0;
+    }
+
+    // Independent copy: later changes to either one do not show in the other
+    public RowBitmap copy() {
+        RowBitmap out = new RowBitmap();
+        for (int i = 0; i < size; i++) out.append(keys[i], chunks[i].copy());
+        return out;
+    }
+
+    public int cardinality() {
+        int n = 0;
+        for (int i = 0; i < size; i++) n += chunks[i].cardinality();
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Ascending; stops early when the visitor returns false
+    public void forEach(IntPredicate visitor) {
+        for (int i = 0; i < size; i++) {
+            if (!chunks[i].forEach(keys[i] << 16, visitor)) return;
+        }
+    }
+
+    public int[] toArray() {
+        int[] out = new int[cardinality()];
+        int[] at = {0};
+        forEach(r -> {
+            out[at[0]++] = r;
+            return true;
+        });
+        return out;
+    }
+
+    // ---------- Set operations (new bitmaps; inputs are not changed) ----------
+    public static RowBitmap and(RowBitmap a, RowBitmap b) {
+        RowBitmap out = new RowBitmap();
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) i++;
+            else if (a.keys[i] > b.keys[j]) j++;
+            else {
+                Chunk c = and(a.chunks[i], b.chunks[j]);
+                if (c.cardinality() > 0) out.append(a.keys[i], c);
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    public static RowBitmap or(RowBitmap a, RowBitmap b) {
+        RowBitmap out = new RowBitmap();
+        int i = 0, j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                out.append(a.keys[i], a.chunks[i].copy());
+                i++;
+            } else if (i == a.size || b.keys[j] < a.keys[i]) {
+                out.append(b.keys[j], b.chunks[j].copy());
+                j++;
+            } else {
+                out.append(a.keys[i], or(a.chunks[i], b.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    // Rows of a that are not in b
+    public static RowBitmap andNot(RowBitmap a, RowBitmap b) {
+        RowBitmap out = new RowBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) j++;
+            Chunk c = (j < b.size && b.keys[j] == a.keys[i])
+                    ? andNot(a.chunks[i], b.chunks[j])
+                    : a.chunks[i].copy();
+            if (c.cardinality() > 0) out.append(a.keys[i], c);
+        }
+        return out;
+    }
+
+    // |a AND b| without building the intersection
+    public static int andCardinality(RowBitmap a, RowBitmap b) {
+        int n = 0;
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) i++;
+            else if (a.keys[i] > b.keys[j]) j++;
+            else n += andCardinality(a.chunks[i++], b.chunks[j++]);
+        }
+        return n;
+    }
+
+    // ---------- Chunk table ----------
+    private int find(char hi) {
+        return Arrays.binarySearch(keys, 0, size, hi);
+    }
+
+    private void insert(int i, char hi, Chunk c) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2 + 1);
+            chunks = Arrays.copyOf(chunks, size * 2 + 1);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(chunks, i, chunks, i + 1, size - i);
+        keys[i] = hi;
+        chunks[i] = c;
+        size++;
+    }
+
+    private void append(char hi, Chunk c) {
+        insert(size, hi, c);
+    }
+
+    // ---------- Chunk-level operations ----------
+    private static Chunk and(Chunk a, Chunk b) {
+        if (a instanceof BitmapChunk && b instanceof BitmapChunk) {
+            long[] x = ((BitmapChunk) a).words;
+            long[] y = ((BitmapChunk) b).words;
+            BitmapChunk out = new BitmapChunk();
+            for (int w = 0; w < x.length; w++) {
+                out.words[w] = x[w] & y[w];
+                out.card += Long.bitCount(out.words[w]);
+            }
+            return out.fit();
+        }
+        // walk the (smaller) array chunk and probe the other one
+        ArrayChunk small = smallerArray(a, b);
+        Chunk other = small == a ? b : a;
+        ArrayChunk out = new ArrayChunk(small.n);
+        for (int i = 0; i < small.n; i++) {
+            if (other.contains(small.vals[i])) out.vals[out.n++] = small.vals[i];
+        }
+        return out;
+    }
+
+    private static int andCardinality(Chunk a, Chunk b) {
+        if (a instanceof BitmapChunk && b instanceof BitmapChunk) {
+            long[] x = ((BitmapChunk) a).words;
+            long[] y = ((BitmapChunk) b).words;
+            int n = 0;
+            for (int w = 0; w < x.length; w++) n += Long.bitCount(x[w] & y[w]);
+            return n;
+        }
+        ArrayChunk small = smallerArray(a, b);
+        Chunk other = small == a ? b : a;
+        int n = 0;
+        for (int i = 0; i < small.n; i++) {
+            if (other.contains(small.vals[i])) n++;
+        }
+        return n;
+    }
+
+    private static Chunk or(Chunk a, Chunk b) {
+        if (a instanceof ArrayChunk && b instanceof ArrayChunk) {
+            ArrayChunk x = (ArrayChunk) a;
+            ArrayChunk y = (ArrayChunk) b;
+            ArrayChunk out = new ArrayChunk(x.n + y.n);
+            int i = 0, j = 0;
+            while (i < x.n && j < y.n) {
+                char u = x.vals[i], v = y.vals[j];
+                out.vals[out.n++] = u <= v ? u : v;
+                if (u <= v) i++;
+                if (v <= u) j++;
+            }
+            while (i < x.n) out.vals[out.n++] = x.vals[i++];
+            while (j < y.n) out.vals[out.n++] = y.vals[j++];
+            return out.n > ARRAY_MAX ? out.toBitmap() : out;
+        }
+
+        BitmapChunk out = (BitmapChunk) (a instanceof BitmapChunk ? a : b).copy();
+        Chunk other = a instanceof BitmapChunk ? b : a;
+        if (other instanceof BitmapChunk) {
+            long[] y = ((BitmapChunk) other).words;
+            out.card = 0;
+            for (int w = 0; w < y.length; w++) {
+                out.words[w] |= y[w];
+                out.card += Long.bitCount(out.words[w]);
+            }
+        } else {
+            ArrayChunk y = (ArrayChunk) other;
+            for (int i = 0; i < y.n; i++) out.add(y.vals[i]);
+        }
+        return out;
+    }
+
+    private static Chunk andNot(Chunk a, Chunk b) {
+        if (a instanceof ArrayChunk) {
+            ArrayChunk x = (ArrayChunk) a;
+            ArrayChunk out = new ArrayChunk(x.n);
+            for (int i = 0; i < x.n; i++) {
+                if (!b.contains(x.vals[i])) out.vals[out.n++] = x.vals[i];
+            }
+            return out;
+        }
+
+        BitmapChunk out = (BitmapChunk) a.copy();
+        if (b instanceof BitmapChunk) {
+            long[] y = ((BitmapChunk) b).words;
+            out.card = 0;
+            for (int w = 0; w < y.length; w++) {
+                out.words[w] &= ~y[w];
+                out.card += Long.bitCount(out.words[w]);
+            }
+        } else {
+            ArrayChunk y = (ArrayChunk) b;
+            for (int i = 0; i < y.n; i++) out.clear(y.vals[i]);
+        }
+        return out.fit();
+    }
+
+    private static ArrayChunk smallerArray(Chunk a, Chunk b) {
+        if (!(a instanceof ArrayChunk)) return (ArrayChunk) b;
+        if (!(b instanceof ArrayChunk)) return (ArrayChunk) a;
+        return ((ArrayChunk) a).n <= ((ArrayChunk) b).n ? (ArrayChunk) a : (ArrayChunk) b;
+    }
+
+    // ---------- Chunks (low 16 bits of each row) ----------
+    private abstract static class Chunk {
+        abstract int cardinality();
+        abstract boolean contains(char v);
+        abstract Chunk add(char v);    // may hand back a converted chunk
+        abstract Chunk remove(char v);
+        abstract Chunk copy();
+        abstract boolean forEach(int base, IntPredicate visitor); // false = stopped early
+    }
+
+    private static final class ArrayChunk extends Chunk {
+        char[] vals;
+        int n;
+
+        ArrayChunk(int capacity) {
+            vals = new char[Math.max(capacity, 1)];
+        }
+
+        @Override int cardinality() { return n; }
+
+        @Override
+        boolean contains(char v) {
+            return Arrays.binarySearch(vals, 0, n, v) >= 0;
+        }
+
+        @Override
+        Chunk add(char v) {
+            int at = (n == 0 || vals[n - 1] < v) ? -n - 1 : Arrays.binarySearch(vals, 0, n, v);
+            if (at >= 0) return this;
+            if (n == ARRAY_MAX) return toBitmap().add(v);
+            at = -at - 1;
+            if (n == vals.length) vals = Arrays.copyOf(vals, Math.min(ARRAY_MAX, n + (n >> 1) + 1));
+            System.arraycopy(vals, at, vals, at + 1, n - at);
+            vals[at] = v;
+            n++;
+            return this;
+        }
+
+        @Override
+        Chunk remove(char v) {
+            int at = Arrays.binarySearch(vals, 0, n, v);
+            if (at < 0) return this;
+            System.arraycopy(vals, at + 1, vals, at, n - at - 1);
+            n--;
+            return this;
+        }
+
+        @Override
+        Chunk copy() {
+            ArrayChunk c = new ArrayChunk(n);
+            System.arraycopy(vals, 0, c.vals, 0, n);
+            c.n = n;
+            return c;
+        }
+
+        @Override
+        boolean forEach(int base, IntPredicate visitor) {
+            for (int i = 0; i < n; i++) {
+                if (!visitor.test(base | vals[i])) return false;
+            }
+            return true;
+        }
+
+        BitmapChunk toBitmap() {
+            BitmapChunk b = new BitmapChunk();
+            for (int i = 0; i < n; i++) b.add(vals[i]);
+            return b;
+        }
+    }
+
+    private static final class BitmapChunk extends Chunk {
+        final long[] words = new long[1024];
+        int card;
+
+        @Override int cardinality() { return card; }
+
+        @Override
+        boolean contains(char v) {
+            return (words[v >>> 6] & (1L << v)) != 0;
+        }
+
+        @Override
+        Chunk add(char v) {
+            long bit = 1L << v;
+            if ((words[v >>> 6] & bit) == 0) {
+                words[v >>> 6] |= bit;
+                card++;
+            }
+            return this;
+        }
+
+        // Demotes at half the array limit so a set hovering around 4096 does not flip-flop
+        @Override
+        Chunk remove(char v) {
+            clear(v);
+            return card < ARRAY_MAX / 2 ? toArray() : this;
+        }
+
+        void clear(char v) {
+            long bit = 1L << v;
+            if ((words[v >>> 6] & bit) != 0) {
+                words[v >>> 6] &= ~bit;
+                card--;
+            }
+        }
+
+        @Override
+        Chunk copy() {
+            BitmapChunk c = new BitmapChunk();
+            System.arraycopy(words, 0, c.words, 0, words.length);
+            c.card = card;
+            return c;
+        }
+
+        @Override
+        boolean forEach(int base, IntPredicate visitor) {
+            for (int w = 0; w < words.length; w++) {
+                long bits = words[w];
+                while (bits != 0) {
+                    if (!visitor.test(base | (w << 6) | Long.numberOfTrailingZeros(bits))) return false;
+                    bits &= bits - 1;
+                }
+            }
+            return true;
+        }
+
+        // Results of set operations go back to an array chunk when small enough
+        Chunk fit() {
+            return card <= ARRAY_MAX ? toArray() : this;
+        }
+
+        ArrayChunk toArray() {
+            ArrayChunk a = new ArrayChunk(card);
+            forEach(0, v -> {
+                a.vals[a.n++] = (char) v;
+                return true;
+            });
+            return a;
+        }
+    }
+}
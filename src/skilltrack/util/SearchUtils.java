@@ -3,6 +3,7 @@ package skilltrack.util;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import skilltrack.model.Skill;
 
 public class SearchUtils {
@@ -31,7 +32,7 @@ public class SearchUtils {
         Skill target = new Skill("TEMP", name.trim(), "x",
                 skilltrack.model.ProficiencyLevel.BEGINNER, 2000, null);
 
-        Comparator<Skill> cmp = Comparator.comparing(s -> s.getName().toLowerCase());
+        Comparator<Skill> cmp = Comparator.comparing(Skill::getNameKey);
 
         int idx = binarySearch(sortedByName, target, cmp);
         return (idx >= 0) ? sortedByName.get(idx) : null;
@@ -49,6 +50,13 @@ public class SearchUtils {
     }
 
     // ---------- Linear Search (Partial match) ----------
+    // q must already be trimmed + lowercased (so it can only match inside the trimmed keys)
+    public static boolean matchesPartial(Skill s, String q) {
+        return s.getNameKey().contains(q)
+                || s.getCategoryKey().contains(q)
+                || s.getCertificationKey().contains(q);
+    }
+
     // partial match across name/category/certification
     public static List<Skill> partialSkillSearchLinear(List<Skill> allSkills, String query) {
         ArrayList<Skill> out = new ArrayList<>();
@@ -56,18 +64,11 @@ public class SearchUtils {
 
         String q = query.trim().toLowerCase();
 
-        for (Skill s : allSkills) {
-            if (s.getName() != null && s.getName().toLowerCase().contains(q)) {
-                out.add(s);
-                continue;
-            }
-            if (s.getCategory() != null && s.getCategory().toLowerCase().contains(q)) {
-                out.add(s);
-                continue;
-            }
-            if (s.getCertification() != null && s.getCertification().toLowerCase().contains(q)) {
-                out.add(s);
-            }
+        for (int i = 0; i < allSkills.size(); i++) {
+            // lets a cancelled background search stop early
+            if ((i & 0xFFF) == 0 && Thread.currentThread().isInterrupted()) throw new CancellationException();
+            Skill s = allSkills.get(i);
+            if (matchesPartial(s, q)) out.add(s);
         }
         return out;
     }
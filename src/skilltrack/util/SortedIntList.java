@@ -0,0 +1,81 @@
+package skilltrack.util;
+
+import java.util.Arrays;
+
+// Compact sorted set of ints (one int[] + size), used for posting lists.
+// add/remove are a binary search plus an arraycopy; appending the largest value is O(1).
+public final class SortedIntList {
+
+    private int[] values = new int[4];
+    private int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int i) {
+        return values[i];
+    }
+
+    public boolean contains(int v) {
+        return Arrays.binarySearch(values, 0, size, v) >= 0;
+    }
+
+    public boolean add(int v) {
+        int at;
+        if (size == 0 || values[size - 1] < v) {
+            at = size; // common case: new rows are appended
+        } else {
+            at = Arrays.binarySearch(values, 0, size, v);
+            if (at >= 0) return false;
+            at = -at - 1;
+        }
+        if (size == values.length) values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        System.arraycopy(values, at, values, at + 1, size - at);
+        values[at] = v;
+        size++;
+        return true;
+    }
+
+    public boolean remove(int v) {
+        int at = Arrays.binarySearch(values, 0, size, v);
+        if (at < 0) return false;
+        System.arraycopy(values, at + 1, values, at, size - at - 1);
+        size--;
+        if (size < values.length / 4 && values.length > 16) values = Arrays.copyOf(values, values.length / 2);
+        return true;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    // Keeps only the values of 'sorted' (ascending) that are also in this list.
+    // Gallops through this list, so a short 'sorted' against a long list is cheap.
+    public int retainInto(int[] sorted, int n) {
+        int out = 0;
+        int lo = 0;
+        for (int i = 0; i < n && lo < size; i++) {
+            int v = sorted[i];
+            int step = 1;
+            int hi = lo;
+            while (hi < size && values[hi] < v) {
+                lo = hi + 1;
+                hi = lo + step;
+                step <<= 1;
+            }
+            int at = Arrays.binarySearch(values, lo, Math.min(hi + 1, size), v);
+            if (at >= 0) {
+                sorted[out++] = v;
+                lo = at + 1;
+            } else {
+                lo = -at - 1;
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,82 @@
+package skilltrack.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// First k elements in sorted order without sorting everything: one pass with a bounded
+// max-heap of positions, O(n log k). Equal elements keep their input order (ties are broken
+// by position), so the result is always a prefix of what the stable MergeSort would return.
+public class TopK {
+
+    public static <T> List<T> topK(List<T> input, Comparator<? super T> cmp, int k) {
+        if (k < 0) throw new IllegalArgumentException("k cannot be negative.");
+        int n = input.size();
+        if (k >= n) return MergeSort.sort(input, cmp);
+
+        ArrayList<T> out = new ArrayList<>(k);
+        if (k == 0) return out;
+
+        // heap[0] is the worst of the best k seen so far
+        int[] heap = new int[k];
+        for (int i = 0; i < k; i++) {
+            heap[i] = i;
+            siftUp(heap, i, input, cmp);
+        }
+        for (int i = k; i < n; i++) {
+            if (before(i, heap[0], input, cmp)) {
+                heap[0] = i;
+                siftDown(heap, k, input, cmp);
+            }
+        }
+
+        // pop worst-first into the tail of the result
+        for (int i = 0; i < k; i++) out.add(null);
+        for (int size = k; size > 0; size--) {
+            out.set(size - 1, input.get(heap[0]));
+            heap[0] = heap[size - 1];
+            siftDown(heap, size - 1, input, cmp);
+        }
+        return out;
+    }
+
+    // Sorted slice [offset, offset + limit)
+    public static <T> List<T> page(List<T> input, Comparator<? super T> cmp, int offset, int limit) {
+        if (offset < 0 || limit < 0) throw new IllegalArgumentException("Offset and limit cannot be negative.");
+        int end = (int) Math.min((long) offset + limit, input.size());
+        if (offset >= end) return new ArrayList<>();
+        return new ArrayList<>(topK(input, cmp, end).subList(offset, end));
+    }
+
+    // Element at position a sorts before the one at b (position breaks ties)
+    private static <T> boolean before(int a, int b, List<T> input, Comparator<? super T> cmp) {
+        int c = cmp.compare(input.get(a), input.get(b));
+        return c != 0 ? c < 0 : a < b;
+    }
+
+    private static <T> void siftUp(int[] heap, int i, List<T> input, Comparator<? super T> cmp) {
+        int x = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(heap[parent], x, input, cmp)) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = x;
+    }
+
+    private static <T> void siftDown(int[] heap, int size, List<T> input, Comparator<? super T> cmp) {
+        if (size == 0) return;
+        int x = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(heap[child], heap[child + 1], input, cmp)) child++;
+            if (!before(x, heap[child], input, cmp)) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = x;
+    }
+}
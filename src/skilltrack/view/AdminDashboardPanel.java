@@ -1,28 +1,69 @@
 package skilltrack.view;
 
 import skilltrack.controller.SkillController;
+import skilltrack.model.ImportResult;
+import skilltrack.model.ProficiencyLevel;
 import skilltrack.model.Skill;
+import skilltrack.model.SkillChangeEvent;
+import skilltrack.model.SkillQuery;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 public class AdminDashboardPanel extends JPanel {
 
     private final SkillController controller;
     private final MainFrame frame;
     private JButton undoButton;
+    private JButton redoButton;
+
+    // Larger batches of store changes reload the table instead of replaying row events
+    private static final int RELOAD_BATCH = 500;
+
+    // Import problems listed in the summary dialog (the rest are only counted)
+    private static final int IMPORT_REJECTS_SHOWN = 15;
+
+    // Selections of up to this many rows are kept across sorted-view rebuilds (each costs
+    // a pass over the snapshot to find its new row); larger ones are dropped
+    private static final int KEEP_SELECTION_MAX = 200;
 
     private final SkillTableModel tableModel = new SkillTableModel();
     private final JTable table = new JTable(tableModel);
 
     private final JTextField partialSearchField = new JTextField(18);
     private final JTextField exactNameField = new JTextField(14);
+    private final JTextField fuzzyNameField = new JTextField(14);
     private final JTextField exactYearField = new JTextField(6);
-
-    private final JComboBox<String> sortKey = new JComboBox<>(new String[]{"Year Learned", "Skill Name"});
+    private final JTextField fromYearField = new JTextField(5);
+    private final JTextField toYearField = new JTextField(5);
+
+    // Combined filter (all set fields must match)
+    private final JTextField filterCategoryField = new JTextField(12);
+    private final JComboBox<Object> filterLevel = new JComboBox<>(levelChoices());
+    private final JTextField filterFromYearField = new JTextField(5);
+    private final JTextField filterToYearField = new JTextField(5);
+    private final JCheckBox filterCertified = new JCheckBox("Certified only");
+    private final JTextField filterTextField = new JTextField(12);
+
+    // Search-as-you-type: debounced, runs off the EDT, newer keystrokes cancel older queries
+    private final Timer searchDebounce = new Timer(250, e -> runPartialSearch());
+    private SwingWorker<List<Skill>, Void> searchWorker;
+    private String lastQuery;        // trimmed + lowercased query behind lastResults
+    private List<Skill> lastResults; // refined in place when the next query extends lastQuery
+
+    private SwingWorker<ImportResult, Void> importWorker; // CSV import in progress, if any
+
+    private final JComboBox<String> sortKey = new JComboBox<>(new String[]{"Year Learned", "Skill Name", "Category", "Proficiency"});
     private final JComboBox<String> sortOrder = new JComboBox<>(new String[]{"Ascending", "Descending"});
 
     public AdminDashboardPanel(SkillController controller, MainFrame frame) {
@@ -36,6 +77,17 @@ public class AdminDashboardPanel extends JPanel {
         add(buildTable(), BorderLayout.CENTER);
         add(buildBottom(), BorderLayout.SOUTH);
 
+        AutoCompleteSupport.install(exactNameField, controller::completeName);
+        AutoCompleteSupport.install(filterCategoryField, controller::completeCategory);
+
+        searchDebounce.setRepeats(false);
+        partialSearchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { searchDebounce.restart(); }
+            @Override public void removeUpdate(DocumentEvent e) { searchDebounce.restart(); }
+            @Override public void changedUpdate(DocumentEvent e) { searchDebounce.restart(); }
+        });
+
+        controller.addChangeListener(new SwingChangeRelay(this::onSkillsChanged));
         refresh();
     }
 
@@ -46,7 +98,7 @@ public class AdminDashboardPanel extends JPanel {
         JLabel title = new JLabel("Admin Dashboard");
         title.setFont(title.getFont().deriveFont(Font.BOLD, 18f));
 
-        JLabel hint = new JLabel("Create, update, delete, search, sort, and undo skill records.");
+        JLabel hint = new JLabel("Create, update, delete, search, sort, and undo / redo skill records.");
         hint.setForeground(new Color(110, 110, 110));
 
         JPanel left = new JPanel();
@@ -62,17 +114,26 @@ public class AdminDashboardPanel extends JPanel {
         JButton add = toolBtn("➕ Add", this::onAdd);
         JButton edit = toolBtn("✏ Edit", this::onEdit);
         JButton del = toolBtn("🗑 Delete", this::onDelete);
-     undoButton = toolBtn("↩ Undo (Restore Deleted)", this::onUndo);
-undoButton.setVisible(false); // hidden until a delete happens
-
+        JButton recategorize = toolBtn("🏷 Recategorize", this::onRecategorize);
+     undoButton = toolBtn("↩ Undo", this::onUndo);
+undoButton.setVisible(false); // hidden until there is something to undo
+        redoButton = toolBtn("↪ Redo", this::onRedo);
+        redoButton.setVisible(false);
+
+        JButton importCsv = toolBtn("⇧ Import CSV", this::onImport);
+        JButton export = toolBtn("⇩ Export CSV", this::onExport);
         JButton home = toolBtn("🏠 Home", frame::showHome);
 
         bar.add(add);
         bar.add(edit);
         bar.add(del);
+        bar.add(recategorize);
         bar.addSeparator();
         bar.add(undoButton);
+        bar.add(redoButton);
         bar.addSeparator();
+        bar.add(importCsv);
+        bar.add(export);
         bar.add(home);
 
         top.add(left, BorderLayout.WEST);
@@ -81,7 +142,10 @@ undoButton.setVisible(false); // hidden until a delete happens
     }
     private void updateUndoVisibility() {
     if (undoButton != null) {
-        undoButton.setVisible(controller.canUndo()); // visible only if delete undo exists
+        undoButton.setVisible(controller.canUndo());
+    }
+    if (redoButton != null) {
+        redoButton.setVisible(controller.canRedo());
     }
 }
 
@@ -103,7 +167,7 @@ undoButton.setVisible(false); // hidden until a delete happens
         table.setShowHorizontalLines(false);
         table.setShowVerticalLines(false);
         table.setIntercellSpacing(new Dimension(0, 0));
-        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION); // multi-row delete
 
         // Zebra striping
         DefaultTableCellRenderer zebra = new DefaultTableCellRenderer() {
@@ -131,10 +195,11 @@ undoButton.setVisible(false); // hidden until a delete happens
     }
 
     private JComponent buildBottom() {
-        JPanel bottom = new JPanel(new GridLayout(1, 2, 16, 16));
+        JPanel bottom = new JPanel(new GridLayout(1, 3, 16, 16));
         bottom.setOpaque(false);
 
         bottom.add(searchPanel());
+        bottom.add(filterPanel());
         bottom.add(sortPanel());
 
         return bottom;
@@ -146,13 +211,24 @@ undoButton.setVisible(false); // hidden until a delete happens
         p.setBorder(BorderFactory.createTitledBorder("Search"));
         p.setOpaque(false);
 
-        p.add(row("Partial (Linear):", partialSearchField, button("Search", this::onPartialSearch)));
+        p.add(row("Partial (Trigram):", partialSearchField, button("Search", this::onPartialSearch)));
         p.add(Box.createVerticalStrut(10));
         p.add(row("Exact Name (Binary):", exactNameField, button("Search", this::onExactNameSearch)));
         p.add(Box.createVerticalStrut(10));
+        p.add(row("Fuzzy Name (Typos):", fuzzyNameField, button("Search", this::onFuzzySearch)));
+        p.add(Box.createVerticalStrut(10));
         p.add(row("Exact Year (Binary):", exactYearField, button("Search", this::onExactYearSearch)));
         p.add(Box.createVerticalStrut(10));
 
+        JPanel range = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        range.add(new JLabel("Years from:"));
+        range.add(fromYearField);
+        range.add(new JLabel("to:"));
+        range.add(toYearField);
+        range.add(button("Search", this::onYearRangeSearch));
+        p.add(range);
+        p.add(Box.createVerticalStrut(10));
+
         JButton reset = new JButton("Reset Table");
         reset.setFocusPainted(false);
         reset.addActionListener(e -> refresh());
@@ -161,10 +237,51 @@ undoButton.setVisible(false); // hidden until a delete happens
         return p;
     }
 
+    private JComponent filterPanel() {
+        JPanel p = new JPanel();
+        p.setLayout(new BoxLayout(p, BoxLayout.Y_AXIS));
+        p.setBorder(BorderFactory.createTitledBorder("Filter"));
+        p.setOpaque(false);
+
+        JPanel cat = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        cat.add(new JLabel("Category:"));
+        cat.add(filterCategoryField);
+        p.add(cat);
+
+        JPanel level = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        level.add(new JLabel("Level at least:"));
+        level.add(filterLevel);
+        level.add(filterCertified);
+        p.add(level);
+
+        JPanel years = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        years.add(new JLabel("Years from:"));
+        years.add(filterFromYearField);
+        years.add(new JLabel("to:"));
+        years.add(filterToYearField);
+        p.add(years);
+
+        JPanel text = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        text.add(new JLabel("Text contains:"));
+        text.add(filterTextField);
+        p.add(text);
+        p.add(Box.createVerticalStrut(10));
+
+        p.add(button("Apply Filter", this::onFilter));
+        return p;
+    }
+
+    private static Object[] levelChoices() {
+        Object[] out = new Object[ProficiencyLevel.values().length + 1];
+        out[0] = "Any";
+        System.arraycopy(ProficiencyLevel.values(), 0, out, 1, out.length - 1);
+        return out;
+    }
+
     private JComponent sortPanel() {
         JPanel p = new JPanel();
         p.setLayout(new BoxLayout(p, BoxLayout.Y_AXIS));
-        p.setBorder(BorderFactory.createTitledBorder("Sort (MergeSort)"));
+        p.setBorder(BorderFactory.createTitledBorder("Sort"));
         p.setOpaque(false);
 
         JPanel row1 = new JPanel(new FlowLayout(FlowLayout.LEFT));
@@ -199,11 +316,76 @@ undoButton.setVisible(false); // hidden until a delete happens
     }
 
   public void refresh() {
-    tableModel.setData(controller.getAllSkills());
+    cancelPartialSearch(); // data may have changed under the previous results
+    tableModel.showLive(controller.snapshot());
     updateUndoVisibility();
-    frame.setStatus("Loaded " + controller.getAllSkills().size() + " skills");
+    frame.setStatus("Loaded " + tableModel.getRowCount() + " skills");
 }
 
+    // Store changes (from this panel or anywhere else) arrive here on the EDT
+    private void onSkillsChanged(List<SkillChangeEvent> events) {
+        boolean reload = events.size() > RELOAD_BATCH;
+        boolean sorted = !reload && tableModel.isSortedView();
+        long shown = tableModel.loadedVersion();
+        List<String> selectedIds = sorted ? selectedIds() : null;
+        String anchorId = null;
+        int anchorOffset = 0;
+        if (sorted) {
+            // the row at the top of the viewport, and how far it is scrolled past
+            Rectangle visible = table.getVisibleRect();
+            int top = table.rowAtPoint(visible.getLocation());
+            if (top >= 0) {
+                anchorId = tableModel.getAt(top).getId();
+                anchorOffset = visible.y - table.getCellRect(top, 0, true).y;
+            }
+        }
+        for (int i = 0; i < events.size() && !reload; i++) {
+            if (!tableModel.apply(events.get(i))) reload = true;
+        }
+        if (reload) {
+            refresh();
+            return;
+        }
+        if (sorted && tableModel.loadedVersion() != shown) restoreView(selectedIds, anchorId, anchorOffset);
+        cancelPartialSearch(); // cached results may hold changed skills
+        updateUndoVisibility();
+    }
+
+    // Ids of the selected rows, or an empty list if there are too many to look up again
+    private List<String> selectedIds() {
+        int[] rows = table.getSelectedRows();
+        List<String> ids = new ArrayList<>();
+        if (rows.length > KEEP_SELECTION_MAX) return ids;
+        for (int row : rows) ids.add(tableModel.getAt(row).getId());
+        return ids;
+    }
+
+    // A sorted view was rebuilt: select the same skills at their new rows (deleted ones are
+    // gone) and scroll so the skill that was at the top stays there
+    private void restoreView(List<String> selectedIds, String anchorId, int anchorOffset) {
+        ListSelectionModel sel = table.getSelectionModel();
+        sel.setValueIsAdjusting(true);
+        table.clearSelection();
+        for (String id : selectedIds) {
+            int row = tableModel.rowOf(id);
+            if (row >= 0) table.addRowSelectionInterval(row, row);
+        }
+        sel.setValueIsAdjusting(false);
+
+        int top = anchorId == null ? -1 : tableModel.rowOf(anchorId);
+        if (top >= 0) {
+            Rectangle visible = table.getVisibleRect();
+            visible.y = table.getCellRect(top, 0, true).y + anchorOffset;
+            table.scrollRectToVisible(visible);
+        }
+    }
+
+    private void selectRow(int row) {
+        if (row < 0 || row >= tableModel.getRowCount()) return;
+        table.setRowSelectionInterval(row, row);
+        table.scrollRectToVisible(table.getCellRect(row, 0, true));
+    }
+
 
     private Skill selectedSkill() {
         int row = table.getSelectedRow();
@@ -212,14 +394,15 @@ undoButton.setVisible(false); // hidden until a delete happens
     }
 
     private void onAdd() {
-        SkillFormDialog dlg = new SkillFormDialog(SwingUtilities.getWindowAncestor(this), "Add Skill", null);
+        SkillFormDialog dlg = new SkillFormDialog(SwingUtilities.getWindowAncestor(this), "Add Skill", null, controller);
         dlg.setVisible(true);
         Skill s = dlg.getResult();
         if (s == null) return;
 
         try {
             controller.addSkill(s);
-            refresh();
+            if (!tableModel.isLive()) refresh(); // showing results: switch back to all skills
+            selectRow(tableModel.getRowCount() - 1);
             frame.setStatus("Added: " + s.getName());
         } catch (IllegalArgumentException ex) {
             JOptionPane.showMessageDialog(this, ex.getMessage(), "Validation Error", JOptionPane.ERROR_MESSAGE);
@@ -233,14 +416,13 @@ undoButton.setVisible(false); // hidden until a delete happens
             return;
         }
 
-        SkillFormDialog dlg = new SkillFormDialog(SwingUtilities.getWindowAncestor(this), "Edit Skill", sel);
+        SkillFormDialog dlg = new SkillFormDialog(SwingUtilities.getWindowAncestor(this), "Edit Skill", sel, controller);
         dlg.setVisible(true);
         Skill edited = dlg.getResult();
         if (edited == null) return;
 
         try {
             controller.updateSkill(sel.getId(), edited);
-            refresh();
             frame.setStatus("Updated: " + edited.getName());
         } catch (IllegalArgumentException ex) {
             JOptionPane.showMessageDialog(this, ex.getMessage(), "Validation Error", JOptionPane.ERROR_MESSAGE);
@@ -253,6 +435,10 @@ undoButton.setVisible(false); // hidden until a delete happens
             JOptionPane.showMessageDialog(this, "Select a skill first.");
             return;
         }
+        if (table.getSelectedRowCount() > 1) {
+            onDeleteSelected();
+            return;
+        }
 
         int ok = JOptionPane.showConfirmDialog(this,
                 "Delete selected skill?\n\n" + sel.getName() + " (" + sel.getCategory() + ")",
@@ -262,9 +448,8 @@ undoButton.setVisible(false); // hidden until a delete happens
         if (ok != JOptionPane.YES_OPTION) return;
 
         try {
+            table.clearSelection(); // the store fills the hole with another skill
             controller.deleteSkill(sel.getId());
-            refresh();
-            updateUndoVisibility();
 JOptionPane.showMessageDialog(this, "Skill deleted. You can undo this delete now.");
             frame.setStatus("Deleted: " + sel.getName());
         } catch (IllegalArgumentException ex) {
@@ -272,27 +457,207 @@ JOptionPane.showMessageDialog(this, "Skill deleted. You can undo this delete now
         }
     }
 
+    // Several selected rows: one batch delete (a single undo step)
+    private void onDeleteSelected() {
+        List<String> ids = new ArrayList<>();
+        for (int row : table.getSelectedRows()) ids.add(tableModel.getAt(row).getId());
+
+        int ok = JOptionPane.showConfirmDialog(this,
+                "Delete the " + ids.size() + " selected skills?",
+                "Confirm Delete",
+                JOptionPane.YES_NO_OPTION);
+        if (ok != JOptionPane.YES_OPTION) return;
+
+        try {
+            table.clearSelection();
+            controller.deleteAll(ids);
+            frame.setStatus("Deleted " + ids.size() + " skills (one undo step)");
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    // Renames a category for all of its skills in one transaction
+    private void onRecategorize() {
+        Object[] categories = controller.getCategoryStats().keySet().toArray();
+        if (categories.length == 0) {
+            JOptionPane.showMessageDialog(this, "There are no categories yet.");
+            return;
+        }
+        Skill sel = selectedSkill();
+        Object from = JOptionPane.showInputDialog(this, "Category to move:", "Recategorize",
+                JOptionPane.QUESTION_MESSAGE, null, categories,
+                sel == null ? categories[0] : sel.getCategory());
+        if (from == null) return;
+
+        String to = JOptionPane.showInputDialog(this, "Move every \"" + from + "\" skill to category:", from);
+        if (to == null) return;
+
+        try {
+            int moved = controller.recategorize(from.toString(), to);
+            if (!tableModel.isLive()) refresh();
+            frame.setStatus("Moved " + moved + " skills from " + from + " to " + to.trim());
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Recategorize", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     private void onUndo() {
         if (!controller.canUndo()) {
             JOptionPane.showMessageDialog(this, "Nothing to undo.");
             return;
         }
-        controller.undo();
-        refresh();
-        updateUndoVisibility();
-
+        try {
+            controller.undo();
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Undo", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (!tableModel.isLive()) refresh();
         frame.setStatus("Undo completed");
     }
 
+    private void onRedo() {
+        if (!controller.canRedo()) {
+            JOptionPane.showMessageDialog(this, "Nothing to redo.");
+            return;
+        }
+        try {
+            controller.redo();
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Redo", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (!tableModel.isLive()) refresh();
+        frame.setStatus("Redo completed");
+    }
+
+    // Bulk import: one store write, so it is a single undo step and a single table refresh
+    private void onImport() {
+        if (importWorker != null) {
+            JOptionPane.showMessageDialog(this, "An import is already running.");
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+
+        // Parsing and adding a large file takes a while: off the EDT, the table keeps
+        // repainting and the store's change events arrive as usual
+        SwingWorker<ImportResult, Void> worker = new SwingWorker<ImportResult, Void>() {
+            @Override
+            protected ImportResult doInBackground() throws IOException {
+                return controller.importCsv(file.toPath());
+            }
+
+            @Override
+            protected void done() {
+                importWorker = null;
+                ImportResult result;
+                try {
+                    result = get();
+                } catch (InterruptedException ex) {
+                    return;
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    JOptionPane.showMessageDialog(AdminDashboardPanel.this, "Import failed: " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                showImportResult(result, file);
+            }
+        };
+        importWorker = worker;
+        frame.setStatus("Importing " + file.getName() + "...");
+        worker.execute();
+    }
+
+    private void showImportResult(ImportResult result, File file) {
+        if (!tableModel.isLive()) refresh();
+        frame.setStatus("Imported " + result.added + " skills from " + file.getName()
+                + (result.rejects.isEmpty() ? "" : " (" + result.rejects.size() + " rejected)"));
+
+        if (!result.rejects.isEmpty()) {
+            StringBuilder msg = new StringBuilder();
+            msg.append(result.added).append(" skill(s) imported, ")
+               .append(result.rejects.size()).append(" row(s) rejected:\n\n");
+            int shown = Math.min(IMPORT_REJECTS_SHOWN, result.rejects.size());
+            for (int i = 0; i < shown; i++) msg.append(result.rejects.get(i)).append('\n');
+            if (result.rejects.size() > shown) {
+                msg.append("... and ").append(result.rejects.size() - shown).append(" more");
+            }
+            JOptionPane.showMessageDialog(this, msg.toString(), "Import", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
+    private void onExport() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("skilltrack_export.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        try {
+            controller.exportCsv(chooser.getSelectedFile().toPath());
+            frame.setStatus("Exported " + controller.getTotalSkills() + " skills to " + chooser.getSelectedFile().getName());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Export failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     private void onPartialSearch() {
         String q = partialSearchField.getText();
         if (q == null || q.trim().isEmpty()) {
             JOptionPane.showMessageDialog(this, "Enter partial text.");
             return;
         }
-        List<Skill> results = controller.searchPartial(q);
-        tableModel.setData(results);
-        frame.setStatus("Linear search results: " + results.size());
+        searchDebounce.stop();
+        runPartialSearch();
+    }
+
+    private void runPartialSearch() {
+        String q = partialSearchField.getText().trim().toLowerCase();
+        if (q.isEmpty()) {
+            refresh();
+            return;
+        }
+
+        // A query that extends the previous one can only narrow its results
+        List<Skill> previous = (lastQuery != null && q.contains(lastQuery)) ? lastResults : null;
+        if (searchWorker != null) searchWorker.cancel(true);
+
+        SwingWorker<List<Skill>, Void> worker = new SwingWorker<List<Skill>, Void>() {
+            @Override
+            protected List<Skill> doInBackground() {
+                return previous != null
+                        ? controller.refinePartial(previous, q)
+                        : controller.searchPartial(q);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || searchWorker != this) return;
+                List<Skill> results;
+                try {
+                    results = get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    return;
+                }
+                lastQuery = q;
+                lastResults = results;
+                tableModel.setData(results);
+                frame.setStatus("Partial search results: " + results.size());
+            }
+        };
+        searchWorker = worker;
+        worker.execute();
+    }
+
+    private void cancelPartialSearch() {
+        if (searchWorker != null) {
+            searchWorker.cancel(true);
+            searchWorker = null;
+        }
+        lastQuery = null;
+        lastResults = null;
     }
 
     private void onExactNameSearch() {
@@ -313,33 +678,110 @@ JOptionPane.showMessageDialog(this, "Skill deleted. You can undo this delete now
         frame.setStatus("Binary exact name: found " + found.getName());
     }
 
+    private void onFuzzySearch() {
+        String name = fuzzyNameField.getText();
+        if (name == null || name.trim().isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Enter a name.");
+            return;
+        }
+
+        List<Skill> found = controller.searchFuzzy(name);
+        tableModel.setData(found);
+        frame.setStatus(found.isEmpty()
+                ? "Fuzzy name: no close match"
+                : "Fuzzy name: " + found.size() + " close match(es), best: " + found.get(0).getName());
+    }
+
     private void onExactYearSearch() {
         try {
             int year = Integer.parseInt(exactYearField.getText().trim());
-            Skill found = controller.searchExactByYearBinary(year);
+            List<Skill> found = controller.skillsFromYear(year);
 
-            if (found == null) {
+            if (found.isEmpty()) {
                 JOptionPane.showMessageDialog(this, "No exact match found.");
-                frame.setStatus("Binary exact year: no match");
+                frame.setStatus("Exact year: no match");
                 return;
             }
 
-            tableModel.setData(List.of(found));
-            frame.setStatus("Binary exact year: found " + found.getName());
+            tableModel.setData(found);
+            frame.setStatus("Exact year " + year + ": " + found.size() + " skill(s)");
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Year must be a valid number.", "Invalid Input", JOptionPane.ERROR_MESSAGE);
         }
     }
 
+    private void onYearRangeSearch() {
+        try {
+            int from = Integer.parseInt(fromYearField.getText().trim());
+            int to = Integer.parseInt(toYearField.getText().trim());
+            List<Skill> found = controller.skillsLearnedBetween(from, to);
+
+            tableModel.setData(found);
+            frame.setStatus("Years " + from + "-" + to + ": " + found.size() + " skill(s)");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Years must be valid numbers.", "Invalid Input", JOptionPane.ERROR_MESSAGE);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Input", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    // Uses the Sort panel's key and order for the results
+    private void onFilter() {
+        try {
+            SkillQuery q = new SkillQuery()
+                    .category(filterCategoryField.getText())
+                    .yearBetween(parseYear(filterFromYearField), parseYear(filterToYearField))
+                    .textContains(filterTextField.getText());
+            if (filterLevel.getSelectedItem() instanceof ProficiencyLevel) {
+                q.minLevel((ProficiencyLevel) filterLevel.getSelectedItem());
+            }
+            if (filterCertified.isSelected()) q.hasCertification(true);
+
+            boolean asc = sortOrder.getSelectedItem().toString().equalsIgnoreCase("Ascending");
+            q.sortBy(querySort(sortKey.getSelectedItem().toString()), asc);
+
+            List<Skill> found = controller.query(q);
+            tableModel.setData(found);
+            frame.setStatus("Filter: " + found.size() + " skill(s)");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Years must be valid numbers.", "Invalid Input", JOptionPane.ERROR_MESSAGE);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Invalid Input", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    // The sort picked in the Sort box, for filter results
+    private static SkillQuery.SortBy querySort(String key) {
+        switch (key) {
+            case "Skill Name":  return SkillQuery.SortBy.NAME;
+            case "Category":    return SkillQuery.SortBy.CATEGORY;
+            case "Proficiency": return SkillQuery.SortBy.LEVEL;
+            default:            return SkillQuery.SortBy.YEAR;
+        }
+    }
+
+    // Empty field = open bound
+    private static Integer parseYear(JTextField field) {
+        String t = field.getText().trim();
+        return t.isEmpty() ? null : Integer.valueOf(t);
+    }
+
+    // Name / Year come ready-sorted from the indexes; other keys are sorted lazily,
+    // so only the rows the table actually shows get sorted up front
     private void onSort() {
         boolean asc = sortOrder.getSelectedItem().toString().equalsIgnoreCase("Ascending");
         String key = sortKey.getSelectedItem().toString();
 
-        List<Skill> sorted = key.equals("Skill Name")
-                ? controller.sortByName(asc)
-                : controller.sortByYear(asc);
-
-        tableModel.setData(sorted);
+        if (key.equals("Skill Name")) {
+            tableModel.setData(controller.sortByName(asc));
+        } else if (key.equals("Year Learned")) {
+            tableModel.setData(controller.sortByYear(asc));
+        } else {
+            Comparator<Skill> cmp = key.equals("Category")
+                    ? Comparator.comparing(Skill::getCategoryKey).thenComparing(Skill::getNameKey)
+                    : Comparator.comparing(Skill::getLevel).thenComparing(Skill::getNameKey);
+            tableModel.showSorted(controller.snapshot(), asc ? cmp : cmp.reversed());
+        }
         frame.setStatus("Sorted (" + key + ", " + (asc ? "ASC" : "DESC") + ")");
     }
 }
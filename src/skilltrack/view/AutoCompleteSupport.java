@@ -0,0 +1,128 @@
+package skilltrack.view;
+
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.function.BiFunction;
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+// Completion popup under a text field.
+// Suggestions come from a (prefix, k) lookup such as SkillController::completeName.
+// Up/Down choose, Enter or click accepts, Escape closes.
+public class AutoCompleteSupport {
+
+    private static final int MAX_SUGGESTIONS = 8;
+
+    private final JTextField field;
+    private final BiFunction<String, Integer, List<String>> provider;
+
+    private final DefaultListModel<String> model = new DefaultListModel<>();
+    private final JList<String> list = new JList<>(model);
+    private final JPopupMenu popup = new JPopupMenu();
+    private boolean applying = false;
+
+    public static void install(JTextField field, BiFunction<String, Integer, List<String>> provider) {
+        new AutoCompleteSupport(field, provider);
+    }
+
+    private AutoCompleteSupport(JTextField field, BiFunction<String, Integer, List<String>> provider) {
+        this.field = field;
+        this.provider = provider;
+
+        list.setFocusable(false);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        popup.setFocusable(false);
+        popup.add(list);
+
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int i = list.locationToIndex(e.getPoint());
+                if (i >= 0) accept(model.get(i));
+            }
+        });
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { SwingUtilities.invokeLater(AutoCompleteSupport.this::update); }
+            @Override public void removeUpdate(DocumentEvent e) { SwingUtilities.invokeLater(AutoCompleteSupport.this::update); }
+            @Override public void changedUpdate(DocumentEvent e) { }
+        });
+
+        field.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (!popup.isVisible()) return;
+                int i = list.getSelectedIndex();
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_DOWN:
+                        list.setSelectedIndex(Math.min(i + 1, model.size() - 1));
+                        e.consume();
+                        break;
+                    case KeyEvent.VK_UP:
+                        list.setSelectedIndex(Math.max(i - 1, 0));
+                        e.consume();
+                        break;
+                    case KeyEvent.VK_ENTER:
+                        if (i >= 0) {
+                            accept(model.get(i));
+                            e.consume();
+                        }
+                        break;
+                    case KeyEvent.VK_ESCAPE:
+                        popup.setVisible(false);
+                        e.consume();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        });
+
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                popup.setVisible(false);
+            }
+        });
+    }
+
+    private void update() {
+        if (applying) return;
+
+        String text = field.getText().trim();
+        if (text.isEmpty() || !field.isShowing() || !field.hasFocus()) {
+            popup.setVisible(false);
+            return;
+        }
+
+        model.clear();
+        for (String s : provider.apply(text, MAX_SUGGESTIONS)) {
+            if (!s.equalsIgnoreCase(text)) model.addElement(s); // already typed in full
+        }
+        if (model.isEmpty()) {
+            popup.setVisible(false);
+            return;
+        }
+
+        list.setVisibleRowCount(model.size());
+        popup.setVisible(false);
+        popup.pack();
+        popup.setPopupSize(Math.max(field.getWidth(), popup.getPreferredSize().width),
+                popup.getPreferredSize().height);
+        popup.show(field, 0, field.getHeight());
+    }
+
+    private void accept(String value) {
+        applying = true;
+        field.setText(value);
+        // document events queue their updates; clear the flag only after those have run
+        SwingUtilities.invokeLater(() -> applying = false);
+        popup.setVisible(false);
+    }
+}
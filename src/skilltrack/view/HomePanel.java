@@ -1,7 +1,10 @@
 package skilltrack.view;
 
 import skilltrack.controller.SkillController;
+import skilltrack.model.ProficiencyLevel;
 import skilltrack.model.Skill;
+import skilltrack.model.SkillChangeEvent;
+import skilltrack.model.SkillStats;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -16,6 +19,9 @@ public class HomePanel extends JPanel {
 
     private final JLabel totalValue = new JLabel("0");
     private final JLabel categoryValue = new JLabel("0");
+    private final JLabel certifiedValue = new JLabel("0");
+    private final JLabel expertValue = new JLabel("0");
+    private final DefaultListModel<String> breakdownModel = new DefaultListModel<>();
     private final DefaultListModel<String> recentModel = new DefaultListModel<>();
     private final JList<String> recentList = new JList<>(recentModel);
 
@@ -34,6 +40,9 @@ public class HomePanel extends JPanel {
         // Carousel highlight
         Timer timer = new Timer(2000, e -> rotateCarousel());
         timer.start();
+
+        controller.addChangeListener(new SwingChangeRelay(this::onSkillsChanged));
+        refresh();
     }
 
     private JComponent buildTop() {
@@ -69,11 +78,13 @@ public class HomePanel extends JPanel {
         center.setOpaque(false);
         center.setBorder(new EmptyBorder(16, 0, 0, 0));
 
-        JPanel cards = new JPanel(new GridLayout(1, 2, 16, 16));
+        JPanel cards = new JPanel(new GridLayout(1, 4, 16, 16));
         cards.setOpaque(false);
 
         cards.add(statCard("Total Skills", totalValue));
         cards.add(statCard("Categories", categoryValue));
+        cards.add(statCard("Certified", certifiedValue));
+        cards.add(statCard("Expert Level", expertValue));
 
         JPanel recentPanel = new JPanel(new BorderLayout(10, 10));
         recentPanel.setBorder(BorderFactory.createTitledBorder("Recently Added (Last 5)"));
@@ -81,8 +92,19 @@ public class HomePanel extends JPanel {
         recentList.setFixedCellHeight(28);
         recentPanel.add(new JScrollPane(recentList), BorderLayout.CENTER);
 
+        JPanel breakdownPanel = new JPanel(new BorderLayout(10, 10));
+        breakdownPanel.setBorder(BorderFactory.createTitledBorder("Breakdown"));
+        JList<String> breakdownList = new JList<>(breakdownModel);
+        breakdownList.setFixedCellHeight(24);
+        breakdownPanel.add(new JScrollPane(breakdownList), BorderLayout.CENTER);
+
+        JPanel lists = new JPanel(new GridLayout(1, 2, 16, 16));
+        lists.setOpaque(false);
+        lists.add(recentPanel);
+        lists.add(breakdownPanel);
+
         center.add(cards, BorderLayout.NORTH);
-        center.add(recentPanel, BorderLayout.CENTER);
+        center.add(lists, BorderLayout.CENTER);
 
         return center;
     }
@@ -104,13 +126,61 @@ public class HomePanel extends JPanel {
         return card;
     }
 
+    // Statistics come from the store's running counters and the recent list holds five
+    // entries, so this never scans the store
     public void refresh() {
-        int total = controller.getTotalSkills();
-        Map<String, Integer> cats = controller.getCategoryStats();
+        refreshStats();
+        refreshRecent();
+    }
+
+    private void onSkillsChanged(List<SkillChangeEvent> events) {
+        refreshStats();
+
+        // an UPDATED skill only matters here if it is one of the recent ones
+        for (SkillChangeEvent e : events) {
+            if (e.type != SkillChangeEvent.Type.UPDATED || isRecent(e.after)) {
+                refreshRecent();
+                return;
+            }
+        }
+    }
+
+    private void refreshStats() {
+        SkillStats.Snapshot st = controller.getStats();
+
+        totalValue.setText(String.valueOf(st.total));
+        categoryValue.setText(String.valueOf(st.byCategory.size()));
+        certifiedValue.setText(st.certified + " (" + percent(st.certified, st.total) + ")");
+        expertValue.setText(String.valueOf(st.byLevel.get(ProficiencyLevel.EXPERT)));
 
-        totalValue.setText(String.valueOf(total));
-        categoryValue.setText(String.valueOf(cats.size()));
+        breakdownModel.clear();
+        for (Map.Entry<ProficiencyLevel, Integer> e : st.byLevel.entrySet()) {
+            breakdownModel.addElement(e.getKey() + ":  " + e.getValue() + "  (" + percent(e.getValue(), st.total) + ")");
+        }
+        breakdownModel.addElement("Not certified:  " + st.uncertified());
+        if (!st.byYear.isEmpty()) {
+            Integer busiest = st.busiestYear();
+            breakdownModel.addElement("Years learned:  " + st.byYear.firstKey() + " - " + st.byYear.lastKey());
+            breakdownModel.addElement("Busiest year:  " + busiest + " (" + st.byYear.get(busiest) + " skills)");
+        }
+        for (Map.Entry<String, Integer> e : st.byCategory.entrySet()) {
+            breakdownModel.addElement(e.getKey() + ":  " + e.getValue());
+        }
+        if (st.uncategorized > 0) breakdownModel.addElement("(No category):  " + st.uncategorized);
+    }
+
+    private static String percent(int part, int total) {
+        return total == 0 ? "0%" : Math.round(100.0 * part / total) + "%";
+    }
+
+    private boolean isRecent(Skill s) {
+        for (Skill r : controller.getRecentlyAdded()) {
+            if (r.getId().equals(s.getId())) return true;
+        }
+        return false;
+    }
 
+    private void refreshRecent() {
         recentModel.clear();
         List<Skill> recents = controller.getRecentlyAdded();
         for (Skill s : recents) {
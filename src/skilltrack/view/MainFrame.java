@@ -115,14 +115,13 @@ public class MainFrame extends JFrame {
         statusLabel.setText(msg == null ? "" : msg);
     }
 
+    // Both panels follow store changes themselves (change events), so switching is just a card flip
     public void showHome() {
-        homePanel.refresh();
         cards.show(content, "HOME");
         setStatus("Home");
     }
 
     public void showAdmin() {
-        adminPanel.refresh();
         cards.show(content, "ADMIN");
         setStatus("Admin Dashboard");
     }
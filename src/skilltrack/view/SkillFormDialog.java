@@ -5,6 +5,7 @@ import java.awt.FlowLayout;
 import java.awt.GridLayout;
 import java.awt.Window;
 import javax.swing.*;
+import skilltrack.controller.SkillController;
 import skilltrack.model.ProficiencyLevel;
 import skilltrack.model.Skill;
 
@@ -18,7 +19,7 @@ public class SkillFormDialog extends JDialog {
 
     private Skill result = null;
 
-    public SkillFormDialog(Window owner, String title, Skill existing) {
+    public SkillFormDialog(Window owner, String title, Skill existing, SkillController controller) {
         super(owner, title, ModalityType.APPLICATION_MODAL);
 
         setLayout(new BorderLayout(10, 10));
@@ -60,6 +61,10 @@ public class SkillFormDialog extends JDialog {
             certField.setText(existing.getCertification() == null ? "" : existing.getCertification());
         }
 
+        // Suggest existing names / categories as the user types
+        AutoCompleteSupport.install(nameField, controller::completeName);
+        AutoCompleteSupport.install(categoryField, controller::completeCategory);
+
         cancelBtn.addActionListener(e -> dispose());
 
         saveBtn.addActionListener(e -> {
@@ -71,6 +76,16 @@ public class SkillFormDialog extends JDialog {
                 String cert = certField.getText().trim();
                 if (cert.isEmpty()) cert = null;
 
+                // Catch duplicates here instead of failing after the dialog closes
+                Skill dup = controller.findDuplicate(name, category, existing == null ? null : existing.getId());
+                if (dup != null) {
+                    JOptionPane.showMessageDialog(this,
+                            "\"" + dup.getName() + "\" already exists in category \"" + dup.getCategory() + "\".",
+                            "Duplicate Skill",
+                            JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
+
                 if (existing == null) {
                     result = new Skill(name, category, level, year, cert);
                 } else {
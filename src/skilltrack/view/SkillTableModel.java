@@ -1,24 +1,168 @@
 package skilltrack.view;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import javax.swing.table.AbstractTableModel;
 import skilltrack.model.Skill;
+import skilltrack.model.SkillChangeEvent;
+import skilltrack.model.SkillVector;
+import skilltrack.util.LazySortedList;
 
+// Rows come from one of three sources:
+//   live  - the store's latest snapshot (no copy; table row == store row), replaced by the
+//           snapshot each change event carries; a write with several changes (batch, import)
+//           is one reload of its snapshot, since its row numbers are not of that snapshot
+//   copy  - a private copy of a result list (search / filter / index-sorted results)
+//   view  - a snapshot sorted lazily by some order (only the rows the table reads get sorted);
+//           rebuilt from the snapshot of each change, since it never changes itself; the
+//           panel finds its selected skills again with rowOf
+// Store change events are applied as row events, so an edit repaints one row and the
+// table keeps its selection and scroll position instead of reloading everything.
 public class SkillTableModel extends AbstractTableModel {
 
+    private enum Source { LIVE, COPY, VIEW }
+
     private final String[] cols = {"ID", "Name", "Category", "Level", "Year Learned", "Certification"};
     private List<Skill> data = new ArrayList<>();
+    private Source source = Source.COPY;
+    private long loadedVersion = -1; // snapshot shown (live / view); older events are already in it
+    private Comparator<Skill> viewOrder;
+    private SkillVector.Snapshot viewSnapshot; // what the view sorts (unsorted, for rowOf)
+
+    public void showLive(SkillVector.Snapshot snapshot) {
+        this.data = snapshot;
+        this.loadedVersion = snapshot.version;
+        this.source = Source.LIVE;
+        fireTableDataChanged();
+    }
 
     public void setData(List<Skill> skills) {
         this.data = new ArrayList<>(skills);
+        this.source = Source.COPY;
+        fireTableDataChanged();
+    }
+
+    // The snapshot in the given order, computed only as far as the table reads it
+    public void showSorted(SkillVector.Snapshot snapshot, Comparator<Skill> order) {
+        this.data = new LazySortedList<>(snapshot, order);
+        this.viewOrder = order;
+        this.viewSnapshot = snapshot;
+        this.loadedVersion = snapshot.version;
+        this.source = Source.VIEW;
         fireTableDataChanged();
     }
 
+    public boolean isLive() {
+        return source == Source.LIVE;
+    }
+
+    // A sorted view is rebuilt on every change, which clears the table's selection
+    public boolean isSortedView() {
+        return source == Source.VIEW;
+    }
+
+    long loadedVersion() {
+        return loadedVersion;
+    }
+
     public Skill getAt(int row) {
         return data.get(row);
     }
 
+    // ---------- Store changes ----------
+    // Applies one change as row events; false if the caller has to reload instead
+    public boolean apply(SkillChangeEvent e) {
+        if (source == Source.VIEW) {
+            // rows may have moved anywhere in the order: sort the new snapshot (once per write)
+            if (e.snapshot != null && e.snapshot.version > loadedVersion) showSorted(e.snapshot, viewOrder);
+            return true;
+        }
+        if (source == Source.LIVE) {
+            if (e.snapshot == null || e.snapshot.version <= loadedVersion) return true;
+            if (e.writeSize > 1) {
+                showLive(e.snapshot); // skips the write's other events
+                return true;
+            }
+            data = e.snapshot;
+        }
+        switch (e.type) {
+            case ADDED:
+                if (source != Source.LIVE) return true; // results are not extended
+                fireTableRowsInserted(e.row, e.row);
+                return true;
+
+            case UPDATED:
+                if (source == Source.LIVE) {
+                    fireTableRowsUpdated(e.row, e.row);
+                } else {
+                    int r = indexOf(e.after.getId());
+                    if (r >= 0) {
+                        data.set(r, e.after);
+                        fireTableRowsUpdated(r, r);
+                    }
+                }
+                return true;
+
+            case DELETED:
+                if (source == Source.LIVE) {
+                    // the store moved its last row into the hole
+                    if (e.movedFrom >= 0) {
+                        fireTableRowsUpdated(e.row, e.row);
+                        fireTableRowsDeleted(e.movedFrom, e.movedFrom);
+                    } else {
+                        fireTableRowsDeleted(e.row, e.row);
+                    }
+                    return true;
+                }
+                int r = indexOf(e.before.getId());
+                if (r >= 0) {
+                    data.remove(r);
+                    fireTableRowsDeleted(r, r);
+                }
+                return true;
+
+            default: // RELOADED
+                if (source != Source.LIVE) return false;
+                fireTableDataChanged();
+                return true;
+        }
+    }
+
+    // Row showing the skill with this id, or -1. For a sorted view the row is counted from
+    // the unsorted snapshot (rows before it in the order, ties in snapshot order, as the
+    // stable sort places them), so finding it does not sort anything the table has not read
+    public int rowOf(String id) {
+        if (source != Source.VIEW) return indexOf(id);
+        Skill target = null;
+        for (Skill s : viewSnapshot) {
+            if (s.getId().equals(id)) {
+                target = s;
+                break;
+            }
+        }
+        if (target == null) return -1;
+        int row = 0;
+        boolean seen = false;
+        for (Skill s : viewSnapshot) {
+            int c = viewOrder.compare(s, target);
+            if (c < 0) {
+                row++;
+            } else if (c == 0 && !seen) {
+                if (s == target) seen = true;
+                else row++;
+            }
+        }
+        return row;
+    }
+
+    private int indexOf(String id) {
+        for (int i = 0; i < data.size(); i++) {
+            if (data.get(i).getId().equals(id)) return i;
+        }
+        return -1;
+    }
+
     @Override public int getRowCount() { return data.size(); }
     @Override public int getColumnCount() { return cols.length; }
     @Override public String getColumnName(int c) { return cols[c]; }
@@ -0,0 +1,48 @@
+package skilltrack.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import skilltrack.model.SkillChangeEvent;
+import skilltrack.model.SkillChangeListener;
+
+// Hands store events to a Swing listener on the EDT, in order.
+// A change made on the EDT with nothing queued is passed on at once, so a live table hears
+// about it before it next paints; changes from other threads are queued, and everything
+// queued before the EDT gets to it is delivered as one batch.
+public class SwingChangeRelay implements SkillChangeListener {
+
+    private final SkillChangeListener target;
+    private final ArrayList<SkillChangeEvent> pending = new ArrayList<>();
+    private boolean scheduled = false;
+
+    public SwingChangeRelay(SkillChangeListener target) {
+        this.target = target;
+    }
+
+    @Override
+    public void skillsChanged(List<SkillChangeEvent> events) {
+        boolean direct;
+        synchronized (pending) {
+            direct = !scheduled && SwingUtilities.isEventDispatchThread();
+            if (!direct) {
+                pending.addAll(events);
+                if (!scheduled) {
+                    scheduled = true;
+                    SwingUtilities.invokeLater(this::drain);
+                }
+            }
+        }
+        if (direct) target.skillsChanged(events);
+    }
+
+    private void drain() {
+        List<SkillChangeEvent> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            scheduled = false;
+        }
+        target.skillsChanged(batch);
+    }
+}
@@ -0,0 +1,63 @@
+package skilltrack.controller;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import skilltrack.model.ProficiencyLevel;
+import skilltrack.model.Skill;
+import skilltrack.model.StoreFolder;
+
+import static org.junit.Assert.*;
+
+// Sorted reads through the controller (sort / topK / page) against sorting the store's rows
+public class SkillControllerTest {
+
+    @Rule
+    public final StoreFolder data = new StoreFolder();
+    private SkillController controller;
+
+    @Before
+    public void setUp() {
+        controller = new SkillController(data.open());
+        Random rnd = new Random(23);
+        List<Skill> rows = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            rows.add(new Skill("s" + i, "Skill " + i, "Cat " + rnd.nextInt(6),
+                    ProficiencyLevel.values()[rnd.nextInt(ProficiencyLevel.values().length)],
+                    2000 + rnd.nextInt(5), null));
+        }
+        controller.addAll(rows);
+    }
+
+    @Test
+    public void topKAndPagesAreSlicesOfTheStableSort() {
+        // few distinct keys: most comparisons are ties, kept in store order
+        List<Comparator<Skill>> orders = List.of(
+                Comparator.comparing(Skill::getLevel),
+                Comparator.comparingInt(Skill::getYearLearned).reversed(),
+                Comparator.comparing(Skill::getCategoryKey));
+        for (Comparator<Skill> cmp : orders) {
+            List<Skill> all = new ArrayList<>(controller.getAllSkills());
+            all.sort(cmp);
+            assertEquals(all, controller.sort(cmp));
+
+            for (int k : new int[] {0, 1, 10, 600, 2499, 2500, 3000}) {
+                assertEquals("top " + k, all.subList(0, Math.min(k, all.size())), controller.topK(cmp, k));
+            }
+            List<Skill> pages = new ArrayList<>();
+            for (int offset = 0; offset < all.size(); offset += 100) {
+                List<Skill> page = controller.page(cmp, offset, 100);
+                assertEquals(all.subList(offset, Math.min(offset + 100, all.size())), page);
+                pages.addAll(page);
+            }
+            assertEquals(all, pages);
+            assertTrue(controller.page(cmp, all.size(), 100).isEmpty());
+            assertTrue(controller.page(cmp, all.size() + 50, 100).isEmpty());
+            assertEquals(all.subList(all.size() - 1, all.size()), controller.page(cmp, all.size() - 1, 100));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package skilltrack.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+// The parallel loader against the rows that were written, with the first segment boundary
+// (1 MB in) moved across every byte of a record full of quotes, commas and line breaks
+public class CsvSnapshotLoaderTest {
+
+    private static final int SEGMENT = 1 << 20; // MIN_SEGMENT_BYTES: files this small split here
+
+    private static ForkJoinPool pool;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void stopPool() {
+        pool.shutdown();
+    }
+
+    private static final Skill AWKWARD = new Skill("q\"1", "multi\nline, \"quoted\"\n\"\" name",
+            "Cat\r\negory", ProficiencyLevel.EXPERT, 2001, "cert \"\" x,\n");
+
+    private static int bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static String line(Skill s) {
+        return SkillStore.toCsvLine(s) + "\n";
+    }
+
+    // Rows whose lines take exactly n bytes (n must be a few hundred or more)
+    private static List<Skill> padding(int n) {
+        List<Skill> out = new ArrayList<>();
+        int left = n;
+        for (int i = 0; ; i++) {
+            Skill s = new Skill("p" + i, "Padding ü " + i, "Pad", ProficiencyLevel.BEGINNER, 2000 + i % 20, null);
+            if (left - bytes(line(s)) < 200) {
+                Skill last = new Skill("p" + i, "", "Pad", ProficiencyLevel.BEGINNER, 2000, null);
+                StringBuilder name = new StringBuilder();
+                for (int k = bytes(line(last)); k < left; k++) name.append('x');
+                out.add(new Skill("p" + i, name.toString(), "Pad", ProficiencyLevel.BEGINNER, 2000, null));
+                return out;
+            }
+            out.add(s);
+            left -= bytes(line(s));
+        }
+    }
+
+    private static List<String> lines(List<Skill> rows) {
+        List<String> out = new ArrayList<>();
+        for (Skill s : rows) out.add(SkillStore.toCsvLine(s));
+        return out;
+    }
+
+    private List<Skill> load(String csv, int expectedBadRows) throws IOException {
+        Path p = folder.newFile().toPath();
+        Files.write(p, csv.getBytes(StandardCharsets.UTF_8));
+        CsvSnapshotLoader loader = new CsvSnapshotLoader(pool);
+        List<Skill> rows = loader.load(p);
+        assertEquals(expectedBadRows, loader.badRows());
+        return rows;
+    }
+
+    @Test
+    public void recordsAcrossTheSegmentBoundaryLoadOnce() throws IOException {
+        int awkward = bytes(line(AWKWARD));
+        for (int shift = 0; shift <= awkward + 1; shift++) {
+            List<Skill> expected = padding(SEGMENT - shift);
+            expected.add(AWKWARD);
+            StringBuilder csv = new StringBuilder();
+            for (Skill s : expected) csv.append(line(s));
+
+            // more rows, so the second segment holds more than the tail of the awkward one
+            for (int i = 0; i < 50; i++) {
+                Skill s = new Skill("t" + i, "Tail \"" + i + "\"", "Tail", ProficiencyLevel.ADVANCED, 2010, "c");
+                expected.add(s);
+                csv.append(line(s));
+            }
+            assertEquals(lines(expected), lines(load(csv.toString(), 0)));
+        }
+    }
+
+    @Test
+    public void crlfBadRowsAndMissingFinalNewline() throws IOException {
+        List<Skill> expected = padding(SEGMENT - 100);
+        StringBuilder csv = new StringBuilder();
+        for (Skill s : expected) csv.append(SkillStore.toCsvLine(s)).append("\r\n");
+        csv.append("bad,row\r\n");      // too few fields
+        csv.append("\r\n");             // blank: not an error
+        csv.append(line(AWKWARD).replace("2001", "year")); // invalid year
+        for (int i = 0; i < 30; i++) {
+            Skill s = new Skill("t" + i, "Tail " + i, "Tail", ProficiencyLevel.INTERMEDIATE, 2012, null);
+            expected.add(s);
+            csv.append(SkillStore.toCsvLine(s)).append(i == 29 ? "" : "\r\n");
+        }
+        assertTrue(bytes(csv.toString()) > SEGMENT);
+        assertEquals(lines(expected), lines(load(csv.toString(), 2)));
+    }
+
+    @Test
+    public void smallAndEmptyFiles() throws IOException {
+        assertTrue(load("", 0).isEmpty());
+        assertEquals(lines(List.of(AWKWARD)), lines(load(SkillStore.toCsvLine(AWKWARD), 0)));
+    }
+}
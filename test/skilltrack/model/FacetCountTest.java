@@ -0,0 +1,84 @@
+package skilltrack.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import skilltrack.util.PrefixTrie;
+import skilltrack.util.RowBitmap;
+
+import static org.junit.Assert.*;
+
+// facetCount (category / level / certification bitmaps) against counting the snapshot,
+// and facet results kept apart from the index
+public class FacetCountTest {
+
+    @Rule
+    public final StoreFolder data = new StoreFolder();
+    private SkillStore store;
+
+    @Before
+    public void setUp() {
+        store = data.open();
+    }
+
+    private static int bruteForce(List<Skill> rows, String category, ProficiencyLevel level, Boolean hasCert) {
+        int n = 0;
+        for (Skill s : rows) {
+            if (category != null && !s.getCategoryKey().equals(PrefixTrie.normalize(category))) continue;
+            if (level != null && s.getLevel() != level) continue;
+            if (hasCert != null && s.hasCertification() != hasCert) continue;
+            n++;
+        }
+        return n;
+    }
+
+    private void checkEveryCombination() {
+        List<String> categories = new ArrayList<>(Arrays.asList(RandomSkills.CATEGORIES));
+        categories.addAll(Arrays.asList(null, "CLOUD", "Moved 0", "moved 1", "Moved 2", "missing"));
+        List<ProficiencyLevel> levels = new ArrayList<>(Arrays.asList(ProficiencyLevel.values()));
+        levels.add(null);
+
+        List<Skill> rows = store.snapshot();
+        for (String c : categories) {
+            for (ProficiencyLevel p : levels) {
+                for (Boolean cert : new Boolean[] {null, true, false}) {
+                    assertEquals(c + " / " + p + " / " + cert,
+                            bruteForce(rows, c, p, cert), store.facetCount(c, p, cert));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void rowsNeverShareTheIndexBitmaps() {
+        FacetIndex index = new FacetIndex();
+        index.add(0, new Skill("a", "A", "Cloud", ProficiencyLevel.EXPERT, 2020, "Cert"));
+
+        List<RowBitmap> results = Arrays.asList(
+                index.rows("cloud", null, null, null),
+                index.rows(null, ProficiencyLevel.EXPERT, ProficiencyLevel.EXPERT, null),
+                index.rows(null, null, null, true));
+        for (RowBitmap r : results) r.add(7); // the caller's own changes stay out of the index
+        index.add(1, new Skill("b", "B", "Cloud", ProficiencyLevel.EXPERT, 2021, "Cert"));
+
+        for (RowBitmap r : results) {
+            assertArrayEquals(new int[] {0, 7}, r.toArray()); // and later adds stay out of the result
+        }
+        assertEquals(2, index.count("Cloud", ProficiencyLevel.EXPERT, true));
+    }
+
+    @Test
+    public void countsMatchAfterRandomEdits() {
+        RandomSkills random = new RandomSkills(14);
+        store.addAll(random.skills(3000));
+        checkEveryCombination();
+
+        for (int round = 0; round < 5; round++) {
+            random.mutate(store, 300);
+            checkEveryCombination();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package skilltrack.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Seeded random skills and edits, for checking the store's indexes against brute force
+final class RandomSkills {
+
+    static final String[] CATEGORIES = {"Cloud", "cloud ", "Data", "Languages", "Security", "Ops", " "};
+    private static final String[] WORDS = {"java", "script", "docker", "kube", "data", "base", "rust", "go", "lang", "ops"};
+
+    private final Random rnd;
+    private int next = 0;
+
+    RandomSkills(long seed) {
+        this.rnd = new Random(seed);
+    }
+
+    Skill skill() {
+        return skill("r" + next++);
+    }
+
+    Skill skill(String id) {
+        String name = WORDS[rnd.nextInt(WORDS.length)] + WORDS[rnd.nextInt(WORDS.length)] + " " + id;
+        if (rnd.nextBoolean()) name = name.toUpperCase();
+        return new Skill(id, name, CATEGORIES[rnd.nextInt(CATEGORIES.length)],
+                ProficiencyLevel.values()[rnd.nextInt(ProficiencyLevel.values().length)],
+                1990 + rnd.nextInt(35), rnd.nextInt(3) == 0 ? "Cert " + WORDS[rnd.nextInt(WORDS.length)] : null);
+    }
+
+    List<Skill> skills(int n) {
+        ArrayList<Skill> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(skill());
+        return out;
+    }
+
+    // Random adds, updates, deletes (which move the last row), batches, recategorizes and
+    // undo / redo; refused changes (duplicates) are simply skipped
+    void mutate(SkillStore store, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            List<Skill> rows = store.snapshot();
+            Skill some = rows.isEmpty() ? null : rows.get(rnd.nextInt(rows.size()));
+            try {
+                switch (rnd.nextInt(8)) {
+                    case 0: store.addSkill(skill()); break;
+                    case 1: if (some != null) store.deleteSkill(some.getId()); break;
+                    case 2: if (some != null) store.updateSkill(some.getId(), skill(some.getId())); break;
+                    case 3: store.addAll(skills(1 + rnd.nextInt(20))); break;
+                    case 4:
+                        SkillBatch batch = new SkillBatch();
+                        for (int k = 0; k < 5 && k < rows.size(); k++) {
+                            String id = rows.get(rnd.nextInt(rows.size())).getId();
+                            if (rnd.nextBoolean()) batch.delete(id);
+                            else batch.update(id, skill(id));
+                        }
+                        store.apply(batch);
+                        break;
+                    case 5: store.recategorize(CATEGORIES[rnd.nextInt(CATEGORIES.length)], "Moved " + rnd.nextInt(3)); break;
+                    case 6: store.undo(); break;
+                    default: store.redo(); break;
+                }
+            } catch (IllegalArgumentException e) {
+                // duplicate, already deleted in the same batch, ...
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package skilltrack.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+// SkillStore.query against a brute-force filter + sort, for every sort key and plan
+public class SkillQueryTest {
+
+    private static final String[] CATEGORIES = {"Cloud", "Data", "Languages", "Security", "Ops"};
+
+    @Rule
+    public final StoreFolder data = new StoreFolder();
+    private SkillStore store;
+    private final List<Skill> all = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        store = data.open();
+
+        Random rnd = new Random(13);
+        for (int i = 0; i < 3000; i++) {
+            all.add(new Skill("s" + i, "Skill " + Integer.toString(rnd.nextInt(100000), 36) + " " + i,
+                    CATEGORIES[rnd.nextInt(CATEGORIES.length)],
+                    ProficiencyLevel.values()[rnd.nextInt(ProficiencyLevel.values().length)],
+                    1990 + rnd.nextInt(35), rnd.nextInt(4) == 0 ? "Cert " + i : null));
+        }
+        store.addAll(all);
+    }
+
+    // Sort key as a comparable string (ties are allowed in any order)
+    private static String key(Skill s, SkillQuery.SortBy sort) {
+        switch (sort) {
+            case NAME:     return s.getNameKey();
+            case YEAR:     return String.valueOf(s.getYearLearned());
+            case LEVEL:    return String.valueOf(s.getLevel().ordinal());
+            case CATEGORY: return s.getCategoryKey() + "\u0000" + s.getNameKey();
+            default:       return "";
+        }
+    }
+
+    private void check(SkillQuery q) {
+        SkillQuery.SortBy sort = q.getSortBy();
+        Comparator<String> order = q.isAscending() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        List<String> expected = all.stream().filter(q::matches)
+                .map(s -> key(s, sort)).sorted(order)
+                .limit(q.getLimit()).collect(Collectors.toList());
+
+        List<Skill> found = store.query(q);
+        for (Skill s : found) assertTrue(q.matches(s));
+        assertEquals(found.size(), new HashSet<>(found).size());
+        assertEquals(expected, found.stream().map(s -> key(s, sort)).collect(Collectors.toList()));
+    }
+
+    private static List<SkillQuery> shapes() {
+        List<SkillQuery> out = new ArrayList<>();
+        out.add(new SkillQuery());                                              // scan
+        out.add(new SkillQuery().category("cloud"));                            // facets
+        out.add(new SkillQuery().category("Data").minLevel(ProficiencyLevel.INTERMEDIATE).hasCertification(true));
+        out.add(new SkillQuery().yearBetween(2001, 2003));                      // year range
+        out.add(new SkillQuery().textContains("kill 1"));                       // trigrams
+        out.add(new SkillQuery().textContains("cert").category("ops").yearBetween(1995, null));
+        return out;
+    }
+
+    @Test
+    public void everySortMatchesBruteForce() {
+        for (SkillQuery.SortBy sort : SkillQuery.SortBy.values()) {
+            if (sort == SkillQuery.SortBy.NONE) continue;
+            for (boolean asc : new boolean[] {true, false}) {
+                for (SkillQuery q : shapes()) check(q.sortBy(sort, asc));
+                for (SkillQuery q : shapes()) check(q.sortBy(sort, asc).limit(25));
+            }
+        }
+    }
+
+    @Test
+    public void unsortedQueriesFindTheSameSkills() {
+        for (SkillQuery q : shapes()) {
+            HashSet<Skill> expected = new HashSet<>();
+            for (Skill s : all) if (q.matches(s)) expected.add(s);
+            assertEquals(expected, new HashSet<>(store.query(q)));
+        }
+    }
+}
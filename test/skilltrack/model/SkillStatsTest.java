@@ -0,0 +1,103 @@
+package skilltrack.model;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import skilltrack.util.PrefixTrie;
+
+import static org.junit.Assert.*;
+
+// Running statistics against recounting the snapshot, after edits and after a reload
+public class SkillStatsTest {
+
+    @Rule
+    public final StoreFolder data = new StoreFolder();
+    private SkillStore store;
+
+    @Before
+    public void setUp() {
+        store = data.open();
+    }
+
+    private void checkAgainstSnapshot() {
+        List<Skill> rows = store.snapshot();
+        SkillStats.Snapshot stats = store.statsSnapshot();
+
+        int certified = 0;
+        Map<String, Integer> byCategory = new HashMap<>(); // normalized category -> count
+        EnumMap<ProficiencyLevel, Integer> byLevel = new EnumMap<>(ProficiencyLevel.class);
+        for (ProficiencyLevel p : ProficiencyLevel.values()) byLevel.put(p, 0);
+        TreeMap<Integer, Integer> byYear = new TreeMap<>();
+        for (Skill s : rows) {
+            if (s.hasCertification()) certified++;
+            byCategory.merge(s.getCategoryKey(), 1, Integer::sum);
+            byLevel.merge(s.getLevel(), 1, Integer::sum);
+            byYear.merge(s.getYearLearned(), 1, Integer::sum);
+        }
+
+        // labels are display names; blank categories are counted on their own
+        Integer blank = byCategory.remove("");
+        Map<String, Integer> reported = new HashMap<>();
+        for (Map.Entry<String, Integer> e : stats.byCategory.entrySet()) {
+            String key = PrefixTrie.normalize(e.getKey());
+            assertNull("two labels for " + key, reported.put(key, e.getValue()));
+        }
+        assertEquals(blank == null ? 0 : blank, stats.uncategorized);
+
+        assertEquals(rows.size(), stats.total);
+        assertEquals(certified, stats.certified);
+        assertEquals(rows.size() - certified, stats.uncertified());
+        assertEquals(byCategory, reported);
+        assertEquals(byLevel, stats.byLevel);
+        assertEquals(byYear, stats.byYear);
+        assertEquals(byCategory.size(), store.categoryCount());
+        assertEquals(stats.byCategory, store.categoryStats());
+
+        Integer busiest = null;
+        for (Map.Entry<Integer, Integer> e : byYear.entrySet()) {
+            if (busiest == null || e.getValue() > byYear.get(busiest)) busiest = e.getKey();
+        }
+        assertEquals(busiest, stats.busiestYear());
+    }
+
+    @Test
+    public void blankCategoriesStayApartFromOneCalledUncategorized() {
+        store.addSkill(new Skill("a", "A", "Uncategorized", ProficiencyLevel.BEGINNER, 2020, null));
+        store.addSkill(new Skill("b", "B", "  ", ProficiencyLevel.BEGINNER, 2020, null));
+        store.addSkill(new Skill("c", "C", null, ProficiencyLevel.BEGINNER, 2020, null));
+        store.addSkill(new Skill("d", "D", "uncategorized ", ProficiencyLevel.BEGINNER, 2020, null));
+
+        SkillStats.Snapshot stats = store.statsSnapshot();
+        assertEquals(Map.of("Uncategorized", 2), stats.byCategory);
+        assertEquals(2, stats.uncategorized);
+        assertEquals(1, store.categoryCount());
+        checkAgainstSnapshot();
+
+        store.deleteSkill("b");
+        store.deleteSkill("a");
+        assertEquals(Map.of("Uncategorized", 1), store.statsSnapshot().byCategory); // first label kept
+        assertEquals(1, store.statsSnapshot().uncategorized);
+        checkAgainstSnapshot();
+    }
+
+    @Test
+    public void statsMatchAfterRandomEditsAndReload() {
+        RandomSkills random = new RandomSkills(20);
+        checkAgainstSnapshot(); // empty store
+        store.addAll(random.skills(2000));
+        checkAgainstSnapshot();
+
+        for (int round = 0; round < 5; round++) {
+            random.mutate(store, 300);
+            checkAgainstSnapshot();
+        }
+
+        store = data.reopen();
+        checkAgainstSnapshot();
+    }
+}
@@ -0,0 +1,155 @@
+package skilltrack.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+// SkillStore.apply / recategorize: all steps or none, checked on the final state
+public class SkillStoreBatchTest {
+
+    @Rule
+    public final StoreFolder data = new StoreFolder();
+    private SkillStore store;
+    private final List<List<SkillChangeEvent>> published = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        store = data.open();
+
+        store.addSkill(skill("a", "Java", "Languages"));
+        store.addSkill(skill("b", "Kotlin", "Languages"));
+        store.addSkill(skill("c", "Docker", "Cloud"));
+        store.addSkill(skill("d", "Terraform", "Cloud"));
+        store.addSkill(skill("e", "Docker", "Containers"));
+        store.addChangeListener(published::add);
+    }
+
+    private static Skill skill(String id, String name, String category) {
+        return new Skill(id, name, category, ProficiencyLevel.INTERMEDIATE, 2019, null);
+    }
+
+    private String nameOf(String id) {
+        for (Skill s : store.snapshot()) if (s.getId().equals(id)) return s.getName();
+        return null;
+    }
+
+    @Test
+    public void rejectedBatchChangesNothing() {
+        SkillBatch batch = new SkillBatch()
+                .update("a", skill("a", "Java 21", "Languages"))
+                .delete("c")
+                .delete("missing");
+        try {
+            store.apply(batch);
+            fail("batch with a missing skill was applied");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Step 3 (missing): Skill not found.", e.getMessage());
+        }
+
+        assertEquals(5, store.totalSkills());
+        assertEquals("Java", nameOf("a"));
+        assertNotNull(nameOf("c"));
+        assertTrue(published.isEmpty());
+        assertNull(store.findDuplicate("Java 21", "Languages", null));
+    }
+
+    @Test
+    public void duplicateInFinalStateNamesItsStep() {
+        SkillBatch batch = new SkillBatch()
+                .update("d", skill("d", "Terraform", "Infrastructure"))
+                .update("a", skill("a", "Kotlin", "Languages")); // b keeps that name
+        try {
+            store.apply(batch);
+            fail("duplicate Name + Category was applied");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Step 2 (a): Duplicate skill: same Name + Category already exists.", e.getMessage());
+        }
+        assertEquals(0, store.facetCount("Infrastructure", null, null));
+    }
+
+    @Test
+    public void skillsCanSwapNames() {
+        store.apply(new SkillBatch()
+                .update("a", skill("a", "Kotlin", "Languages"))
+                .update("b", skill("b", "Java", "Languages")));
+
+        assertEquals("Kotlin", nameOf("a"));
+        assertEquals("Java", nameOf("b"));
+        assertEquals("b", store.findByName("java").getId());
+
+        store.undo();
+        assertEquals("Java", nameOf("a"));
+        assertEquals("Kotlin", nameOf("b"));
+    }
+
+    @Test
+    public void nameFreedByDeleteInSameBatchCanBeTaken() {
+        store.apply(new SkillBatch()
+                .update("c", skill("c", "Docker", "Containers")) // e still holds it here
+                .delete("e"));
+
+        assertEquals(4, store.totalSkills());
+        assertEquals("c", store.findDuplicate("Docker", "Containers", null).getId());
+    }
+
+    @Test
+    public void updateThenDeleteIsOneUndoStepAndOneEventBatch() {
+        store.apply(new SkillBatch()
+                .update("a", skill("a", "Java 21", "Languages"))
+                .delete("a")
+                .delete("d"));
+
+        assertEquals(3, store.totalSkills());
+        assertEquals(1, published.size());
+        assertEquals(3, published.get(0).size());
+
+        store.undo();
+        assertEquals(5, store.totalSkills());
+        assertEquals("Java", nameOf("a"));
+
+        store.redo();
+        assertEquals(3, store.totalSkills());
+        assertNull(nameOf("a"));
+    }
+
+    @Test
+    public void bulkAddReportsRejectsByOneBasedRow() {
+        ImportResult r = store.addAll(Arrays.asList(
+                skill("f", "Go", "Languages"),
+                skill("a", "Rust", "Languages"),       // ID taken
+                skill("g", "docker", "cloud"),         // Name + Category taken
+                skill("h", "Helm", "Cloud"),
+                skill("i", "HELM", "cloud")));         // same as the row before it
+        assertEquals(2, r.added);
+        assertEquals(3, r.rejects.size());
+        assertEquals(2, r.rejects.get(0).row);
+        assertEquals(3, r.rejects.get(1).row);
+        assertEquals(5, r.rejects.get(2).row);
+        assertEquals("i", r.rejects.get(2).skill.getId());
+        assertTrue(r.rejects.get(0).toString().startsWith("Row 2: "));
+    }
+
+    @Test
+    public void recategorizeIsAllOrNothing() {
+        store.addSkill(skill("f", "Docker", "Containerization"));
+        try {
+            store.recategorize("cloud", "Containers"); // Docker / Containers exists (e)
+            fail("recategorize made a duplicate");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Duplicate skill: same Name + Category already exists.", e.getMessage());
+        }
+        assertEquals(2, store.facetCount("Cloud", null, null));
+
+        assertEquals(2, store.recategorize(" CLOUD ", "Platform"));
+        assertEquals(0, store.facetCount("Cloud", null, null));
+        assertEquals(2, store.facetCount("Platform", null, null));
+
+        store.undo();
+        assertEquals(2, store.facetCount("Cloud", null, null));
+    }
+}
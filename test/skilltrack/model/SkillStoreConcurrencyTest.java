@@ -0,0 +1,76 @@
+package skilltrack.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+// Lookups running while other threads write: no exceptions, no hangs, never a torn answer
+public class SkillStoreConcurrencyTest {
+
+    @Rule
+    public final StoreFolder data = new StoreFolder();
+    private SkillStore store;
+
+    @Before
+    public void setUp() {
+        store = data.open();
+        store.addSkill(new Skill("fixed", "Fixed Skill", "Stable", ProficiencyLevel.EXPERT, 2000, null));
+    }
+
+    @Test(timeout = 30000)
+    public void lookupsDuringWrites() throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean();
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < 2; w++) {
+            String prefix = "w" + w + "-";
+            threads.add(new Thread(() -> {
+                int i = 0;
+                try {
+                    while (!stop.get()) {
+                        String id = prefix + i;
+                        // many rows per category, so the indexes keep growing and rehashing
+                        store.addSkill(new Skill(id, "Name " + id, "Cat " + (i % 50),
+                                ProficiencyLevel.BEGINNER, 1990 + i % 30, null));
+                        if (i % 3 == 0) store.updateSkill(id, new Skill(id, "Renamed " + id, "Cat " + (i % 50),
+                                ProficiencyLevel.ADVANCED, 2000, "C"));
+                        if (i % 5 == 0) store.deleteSkill(id);
+                        i++;
+                    }
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+            }));
+        }
+        for (int r = 0; r < 4; r++) {
+            threads.add(new Thread(() -> {
+                try {
+                    while (!stop.get()) {
+                        assertEquals("fixed", store.findByName("fixed skill").getId());
+                        assertEquals("fixed", store.findDuplicate("Fixed Skill", "Stable", null).getId());
+                        assertNotNull(store.findByYear(2000));
+                        assertTrue(store.categoryCount() >= 1);
+                        store.canUndo();
+                        store.searchPartial("name w1");
+                    }
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+            }));
+        }
+
+        for (Thread t : threads) t.start();
+        Thread.sleep(1500);
+        stop.set(true);
+        for (Thread t : threads) t.join();
+
+        if (!errors.isEmpty()) throw new AssertionError(errors.peek());
+    }
+}
@@ -0,0 +1,269 @@
+package skilltrack.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+// Journal, checkpoint and reload behaviour, each test in its own (temporary) data folder
+public class SkillStorePersistenceTest {
+
+    @Rule
+    public final StoreFolder data = new StoreFolder();
+    private SkillStore store;
+
+    @Before
+    public void setUp() {
+        store = data.open();
+    }
+
+    // Closes the store (draining the writer) and loads a new one from the same files
+    private SkillStore reopen() {
+        store = data.reopen();
+        return store;
+    }
+
+    // Closes the store, e.g. to change its files before the next open
+    private void close() {
+        data.close();
+        store = null;
+    }
+
+    private static Skill skill(String id, String name, String category) {
+        return new Skill(id, name, category, ProficiencyLevel.BEGINNER, 2020, null);
+    }
+
+    private static List<Skill> rows(String prefix, String category, int n) {
+        ArrayList<Skill> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(skill(prefix + i, "Skill " + prefix + i, category));
+        return out;
+    }
+
+    // Every skill as "id=name/category", sorted
+    private List<String> contents() {
+        ArrayList<String> out = new ArrayList<>();
+        for (Skill s : store.snapshot()) out.add(s.getId() + "=" + s.getName() + "/" + s.getCategory());
+        Collections.sort(out);
+        return out;
+    }
+
+    private void damage(String file) throws IOException {
+        Path p = data.file(file);
+        byte[] data = Files.readAllBytes(p);
+        data[data.length - 1] ^= 0x5A; // fails the checksum
+        Files.write(p, data);
+    }
+
+    // Makes every checkpoint fail: the snapshot is written to <name>.tmp first
+    private void blockCheckpoints() throws IOException {
+        store.awaitDurable();
+        Files.createDirectory(data.file("skilltrack_skills.bin.tmp"));
+    }
+
+    @Test
+    public void singleChangesSurviveReload() {
+        store.addSkill(skill("a", "Java", "Languages"));
+        store.addSkill(skill("b", "SQL", "Data"));
+        store.updateSkill("a", skill("a", "Java 21", "Languages"));
+        store.deleteSkill("b");
+
+        reopen();
+        assertEquals(1, store.totalSkills());
+        assertEquals("a", store.findByName("java 21").getId());
+        assertNull(store.findByName("SQL"));
+    }
+
+    @Test
+    public void largeImportSurvivesFailedCheckpoint() throws IOException {
+        blockCheckpoints();
+        ImportResult r = store.addAll(rows("i", "Cloud", 3000)); // big enough to checkpoint
+        assertEquals(3000, r.added);
+
+        reopen();
+        assertEquals(3000, store.totalSkills());
+        assertEquals(3000, store.facetCount("Cloud", null, null));
+    }
+
+    @Test
+    public void largeBatchesSurviveFailedCheckpoint() throws IOException {
+        store.addAll(rows("i", "Cloud", 3000));
+        blockCheckpoints();
+
+        assertEquals(3000, store.recategorize("cloud", "Cloud Native"));
+        SkillBatch batch = new SkillBatch();
+        for (int i = 0; i < 1600; i++) batch.delete("i" + i);
+        store.apply(batch);
+
+        reopen();
+        assertEquals(1400, store.totalSkills());
+        assertEquals(1400, store.facetCount("Cloud Native", null, null));
+        assertEquals(0, store.facetCount("Cloud", null, null));
+        assertNull(store.findByName("Skill i0"));
+    }
+
+    @Test
+    public void smallBatchIsJournaledAsOneUnit() throws IOException {
+        store.addAll(rows("i", "Web", 10));
+        store.apply(new SkillBatch().update("i1", skill("i1", "Renamed", "Web")).delete("i2"));
+        store.awaitDurable();
+
+        List<String> journal = Files.readAllLines(data.file("skilltrack_skills.journal"));
+        assertEquals("\"BEGIN\"", journal.get(journal.size() - 4));
+        assertEquals("\"COMMIT\"", journal.get(journal.size() - 1));
+
+        reopen();
+        assertEquals(9, store.totalSkills());
+        assertNotNull(store.findByName("renamed"));
+    }
+
+    @Test
+    public void tornBatchIsDroppedOnReplay() throws IOException {
+        store.addAll(rows("i", "Web", 5));
+        reopen();
+        close();
+
+        // a crash after part of a batch reached the journal
+        Files.write(data.file("skilltrack_skills.journal"), Arrays.asList(
+                "\"BEGIN\"", "\"DELETE\",\"i0\"", "\"DELETE\",\"i1\""),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        store = data.open();
+        assertEquals(5, store.totalSkills());
+        store.addSkill(skill("n", "New", "Web"));
+
+        reopen();
+        assertEquals(6, store.totalSkills());
+        assertNotNull(store.findByName("Skill i0"));
+    }
+
+    @Test
+    public void tornBatchStaysClosedWhenCheckpointFails() throws IOException {
+        store.addAll(rows("i", "Web", 5));
+        blockCheckpoints();
+        close();
+
+        Files.write(data.file("skilltrack_skills.journal"), Arrays.asList(
+                "\"BEGIN\"", "\"DELETE\",\"i0\""),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        store = data.open(); // its checkpoint fails, so the torn records stay in the journal
+        store.addSkill(skill("n", "New", "Web"));
+        store.apply(new SkillBatch().delete("i3").delete("i4"));
+
+        reopen();
+        assertEquals(4, store.totalSkills());
+        assertNotNull(store.findByName("Skill i0"));
+        assertNotNull(store.findByName("new"));
+        assertNull(store.findByName("Skill i3"));
+    }
+
+    @Test
+    public void damagedSnapshotFallsBackToThePreviousOne() throws IOException {
+        store.addAll(rows("i", "Web", 20));
+        store.saveToDisk();
+        store.apply(new SkillBatch().delete("i0").update("i1", skill("i1", "Renamed", "Web")));
+        store.addSkill(skill("a", "Added", "Web"));
+        store.saveToDisk();
+        store.deleteSkill("a");
+        store.updateSkill("i2", skill("i2", "Later", "Data"));
+        List<String> expected = contents();
+        close();
+
+        damage("skilltrack_skills.bin");
+        store = data.open();
+        assertEquals(expected, contents());
+
+        reopen(); // its checkpoint wrote a good snapshot again
+        assertEquals(expected, contents());
+    }
+
+    @Test
+    public void snapshotDamagedTwiceInARowStillRecovers() throws IOException {
+        store.addAll(rows("i", "Web", 20));
+        store.saveToDisk();
+        store.apply(new SkillBatch().delete("i0").update("i1", skill("i1", "Renamed", "Web")));
+        store.saveToDisk();
+        store.addSkill(skill("a", "Added", "Web"));
+        close();
+
+        damage("skilltrack_skills.bin");
+        store = data.open(); // from the previous snapshot and both journals, then a new checkpoint
+        store.deleteSkill("i2");
+        store.updateSkill("i3", skill("i3", "Later", "Data"));
+        List<String> expected = contents();
+        close();
+        assertTrue(Files.exists(data.file("skilltrack_skills.bin.bad")));
+
+        damage("skilltrack_skills.bin");
+        store = data.open();
+        assertEquals(expected, contents());
+
+        reopen();
+        assertEquals(expected, contents());
+    }
+
+    @Test
+    public void recoveryCutShortBeforeItsCheckpointStillLoads() throws IOException {
+        store.addAll(rows("i", "Web", 20));
+        store.saveToDisk();
+        store.deleteSkill("i0");
+        store.saveToDisk();
+        store.deleteSkill("i1");
+        List<String> expected = contents();
+        close();
+
+        damage("skilltrack_skills.bin");
+        Files.createDirectory(data.file("skilltrack_skills.bin.tmp"));
+        store = data.open(); // the damaged snapshot is moved aside, but the new one is never written
+        assertEquals(expected, contents());
+        close();
+        assertFalse(Files.exists(data.file("skilltrack_skills.bin")));
+
+        store = data.open(); // only the previous snapshot is left
+        assertEquals(expected, contents());
+        close();
+
+        Files.delete(data.file("skilltrack_skills.bin.tmp"));
+        store = data.open();
+        reopen();
+        assertEquals(expected, contents());
+        assertTrue(Files.exists(data.file("skilltrack_skills.bin")));
+    }
+
+    @Test
+    public void legacyCsvIsOnlyReadBeforeTheFirstCheckpoint() throws IOException {
+        close();
+        Files.write(data.file("skilltrack_skills.csv"), Arrays.asList(
+                "\"c1\",\"Old\",\"Csv\",\"BEGINNER\",2001,\"\"",
+                "\"c2\",\"Older\",\"Csv\",\"EXPERT\",1999,\"\""));
+
+        store = data.open();
+        assertEquals(2, store.totalSkills());
+        store.deleteSkill("c1");
+        store.saveToDisk();
+        store.addSkill(skill("n", "New", "Web"));
+        List<String> expected = contents();
+
+        reopen();
+        assertEquals(expected, contents());
+        close();
+
+        // newest snapshot damaged, none before it: the CSV is stale, so nothing is loaded
+        damage("skilltrack_skills.bin");
+        try {
+            store = data.open();
+            fail("loaded from the outdated CSV");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("damaged"));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package skilltrack.model;
+
+import java.nio.file.Path;
+import org.junit.rules.TemporaryFolder;
+
+// A temporary data folder per test, with the store opened on it; the store is closed
+// (draining its writer) before the folder is deleted
+public class StoreFolder extends TemporaryFolder {
+
+    private SkillStore store;
+
+    // A new store loaded from the folder's files (the previous one must be closed first)
+    public SkillStore open() {
+        SkillStore s = new SkillStore(getRoot().toPath());
+        s.loadFromDisk();
+        store = s;
+        return s;
+    }
+
+    // Closes the current store and loads a new one from the same files
+    public SkillStore reopen() {
+        close();
+        return open();
+    }
+
+    public void close() {
+        if (store != null) store.close();
+        store = null;
+    }
+
+    public Path file(String name) {
+        return getRoot().toPath().resolve(name);
+    }
+
+    @Override
+    protected void after() {
+        close();
+        super.after();
+    }
+}
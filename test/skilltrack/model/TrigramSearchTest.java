@@ -0,0 +1,58 @@
+package skilltrack.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import skilltrack.util.SearchUtils;
+
+import static org.junit.Assert.*;
+
+// searchPartial (trigram index) against a scan of the snapshot, after a random edit history
+public class TrigramSearchTest {
+
+    @Rule
+    public final StoreFolder data = new StoreFolder();
+    private SkillStore store;
+
+    @Before
+    public void setUp() {
+        store = data.open();
+    }
+
+    // Substrings of what the store holds, plus a few that match nothing
+    private static List<String> queries(List<Skill> rows, Random rnd) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < 300 && !rows.isEmpty(); i++) {
+            Skill s = rows.get(rnd.nextInt(rows.size()));
+            String text = i % 3 == 0 ? s.getCategory() : i % 3 == 1 ? s.getName() : s.getCertification();
+            if (text == null || text.length() < 3) continue;
+            int len = 3 + rnd.nextInt(Math.min(6, text.length() - 2));
+            int from = rnd.nextInt(text.length() - len + 1);
+            out.add(text.substring(from, from + len));
+        }
+        out.add("zzz");
+        out.add("  DOCKER ");
+        out.add("ja");
+        out.add("");
+        return out;
+    }
+
+    @Test
+    public void matchesScanAfterRandomEdits() {
+        RandomSkills random = new RandomSkills(9);
+        store.addAll(random.skills(2000));
+        Random rnd = new Random(90);
+
+        for (int round = 0; round < 5; round++) {
+            random.mutate(store, 200);
+            List<Skill> rows = store.snapshot();
+            for (String q : queries(rows, rnd)) {
+                List<Skill> expected = SearchUtils.partialSkillSearchLinear(rows, q);
+                assertEquals("query '" + q + "'", expected, store.searchPartial(q));
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package skilltrack.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+// UndoLog limits (entries, bytes), UndoAction deltas, and undo / redo through the store
+public class UndoLogTest {
+
+    @Rule
+    public final StoreFolder data = new StoreFolder();
+
+    private static Skill skill(String id, String name) {
+        return new Skill(id, name, "Cat", ProficiencyLevel.BEGINNER, 2020, null);
+    }
+
+    // Ids of the entries undo would apply, newest first (undoes them all, then redoes them)
+    private static List<String> undoIds(UndoLog log) {
+        List<String> out = new ArrayList<>();
+        while (log.canUndo()) {
+            out.add(log.nextUndo().id);
+            log.undone();
+        }
+        while (log.canRedo()) log.redone();
+        return out;
+    }
+
+    @Test
+    public void entryCapDropsTheOldest() {
+        UndoLog log = new UndoLog(3, Long.MAX_VALUE);
+        for (int i = 0; i < 5; i++) log.record(UndoAction.add(skill("s" + i, "Skill " + i)));
+        assertEquals(3, log.size());
+        assertEquals(List.of("s4", "s3", "s2"), undoIds(log));
+
+        log.record(null); // nothing to record: no change
+        assertEquals(3, log.size());
+    }
+
+    @Test
+    public void byteCapDropsTheOldestButKeepsTheNewest() {
+        UndoAction small = UndoAction.delete(skill("s9", "A")); // same size as the ones below
+        long max = 3 * small.bytes;
+        UndoLog log = new UndoLog(100, max);
+        for (int i = 0; i < 5; i++) log.record(UndoAction.delete(skill("s" + i, "A")));
+        assertEquals(3, log.size());
+        assertEquals(max, log.bytes());
+
+        StringBuilder huge = new StringBuilder();
+        for (int i = 0; i < 1000; i++) huge.append("long name ");
+        UndoAction big = UndoAction.delete(skill("big", huge.toString()));
+        assertTrue(big.bytes > max);
+        log.record(big);
+        assertEquals(1, log.size());           // alone over budget, but still undoable
+        assertEquals(big.bytes, log.bytes());
+        assertEquals("big", log.nextUndo().id);
+
+        log.record(small);
+        assertEquals(1, log.size());
+        assertEquals(small.bytes, log.bytes());
+    }
+
+    @Test
+    public void recordingClearsRedoAndItsBytes() {
+        UndoLog log = new UndoLog();
+        UndoAction a = UndoAction.add(skill("a", "A"));
+        UndoAction b = UndoAction.delete(skill("b", "B"));
+        log.record(a);
+        log.record(b);
+        assertEquals(a.bytes + b.bytes, log.bytes());
+
+        log.undone(); // b
+        assertTrue(log.canRedo());
+        assertEquals(a.bytes + b.bytes, log.bytes()); // redo entries count too
+
+        UndoAction c = UndoAction.add(skill("c", "C"));
+        log.record(c);
+        assertFalse(log.canRedo());
+        assertNull(log.nextRedo());
+        assertEquals(2, log.size());
+        assertEquals(a.bytes + c.bytes, log.bytes());
+
+        log.clear();
+        assertEquals(0, log.size());
+        assertEquals(0, log.bytes());
+        assertFalse(log.canUndo());
+    }
+
+    @Test
+    public void deltaKeepsOnlyChangedFields() {
+        Skill before = new Skill("x", "Java", "Languages", ProficiencyLevel.BEGINNER, 2015, "OCP");
+        Skill after = new Skill("x", "Java 21", "Languages", ProficiencyLevel.EXPERT, 2015, null);
+        assertNull(UndoAction.update(before, before));
+
+        UndoAction u = UndoAction.update(before, after);
+        assertEquals(UndoAction.Type.UPDATE, u.type);
+        assertEquals(SkillStore.toCsvLine(before), SkillStore.toCsvLine(u.delta.undo(after)));
+        assertEquals(SkillStore.toCsvLine(after), SkillStore.toCsvLine(u.delta.redo(before)));
+
+        // fields the update did not touch are left as they are now
+        Skill moved = new Skill("x", "Java 21", "Backend", ProficiencyLevel.EXPERT, 2016, null);
+        Skill undone = u.delta.undo(moved);
+        assertEquals("Java", undone.getName());
+        assertEquals(ProficiencyLevel.BEGINNER, undone.getLevel());
+        assertEquals("OCP", undone.getCertification());
+        assertEquals("Backend", undone.getCategory());
+        assertEquals(2016, undone.getYearLearned());
+
+        UndoAction full = UndoAction.delete(before);
+        assertTrue(u.bytes < full.bytes);
+    }
+
+    @Test
+    public void storeUndoesAndRedoesUpdatesAndDropsRedoOnNewChange() {
+        SkillStore store = data.open();
+        store.addSkill(new Skill("x", "Java", "Languages", ProficiencyLevel.BEGINNER, 2015, "OCP"));
+        store.updateSkill("x", new Skill("x", "Java 21", "Languages", ProficiencyLevel.EXPERT, 2015, null));
+
+        store.undo();
+        assertNotNull(store.findByName("java"));
+        assertNull(store.findByName("java 21"));
+        assertEquals("OCP", store.findByName("java").getCertification());
+        assertTrue(store.canRedo());
+
+        store.redo();
+        assertEquals(ProficiencyLevel.EXPERT, store.findByName("java 21").getLevel());
+        assertNull(store.findByName("java"));
+
+        store.undo();
+        store.addSkill(skill("y", "Kotlin"));
+        assertFalse(store.canRedo());
+        store.redo(); // nothing to redo: no change
+        assertNotNull(store.findByName("java"));
+        assertNull(store.findByName("java 21"));
+
+        store.undo(); // Kotlin's add
+        assertNull(store.findByName("kotlin"));
+        store.undo(); // Java's add: the update is gone from the history
+        assertEquals(0, store.totalSkills());
+        assertFalse(store.canUndo());
+    }
+}
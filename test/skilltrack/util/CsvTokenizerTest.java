@@ -0,0 +1,139 @@
+package skilltrack.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import skilltrack.model.ProficiencyLevel;
+
+import static org.junit.Assert.*;
+
+// CsvTokenizer records / fields, and the byte-level decoders used on its fields
+public class CsvTokenizerTest {
+
+    // Every record as its list of fields, plus whether it ended with a newline
+    private static List<List<String>> parse(String csv, List<Boolean> terminated) {
+        byte[] data = csv.getBytes(StandardCharsets.UTF_8);
+        CsvTokenizer t = new CsvTokenizer();
+        t.reset(ByteBuffer.wrap(data), 0, data.length);
+
+        List<List<String>> records = new ArrayList<>();
+        while (t.nextRecord()) {
+            List<String> fields = new ArrayList<>();
+            while (t.nextField()) fields.add(t.string());
+            records.add(fields);
+            if (terminated != null) terminated.add(t.endRecord());
+        }
+        return records;
+    }
+
+    private static List<List<String>> parse(String csv) {
+        return parse(csv, null);
+    }
+
+    private static int intValue(String field) {
+        byte[] data = (field + "\n").getBytes(StandardCharsets.UTF_8);
+        CsvTokenizer t = new CsvTokenizer();
+        t.reset(ByteBuffer.wrap(data), 0, data.length);
+        assertTrue(t.nextRecord());
+        assertTrue(t.nextField());
+        return t.intValue();
+    }
+
+    private static ProficiencyLevel level(String field) {
+        byte[] b = ("xx" + field + "yy").getBytes(StandardCharsets.UTF_8); // decoded from the middle
+        return ProficiencyLevel.fromAscii(b, 2, b.length - 4);
+    }
+
+    @Test
+    public void quotedFieldsKeepCommasNewlinesAndEscapedQuotes() {
+        assertEquals(Arrays.asList(
+                Arrays.asList("a", "b,c", "line 1\nline 2", "say \"hi\"", ""),
+                Arrays.asList("\"", "x")),
+                parse("\"a\",\"b,c\",\"line 1\nline 2\",\"say \"\"hi\"\"\",\"\"\n\"\"\"\",x\n"));
+    }
+
+    @Test
+    public void crlfLineEndsAreStripped() {
+        List<Boolean> terminated = new ArrayList<>();
+        assertEquals(Arrays.asList(
+                Arrays.asList("a", "b"),
+                Arrays.asList("c", "d\r\ne"),  // inside quotes the CR stays
+                Arrays.asList("f", "g")),
+                parse("\"a\",b\r\n\"c\",\"d\r\ne\"\r\nf,\"g\"\r\n", terminated));
+        assertEquals(Arrays.asList(true, true, true), terminated);
+    }
+
+    @Test
+    public void missingFinalNewlineStillEndsTheRecord() {
+        List<Boolean> terminated = new ArrayList<>();
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c", "d")),
+                parse("a,b\n\"c\",\"d\"", terminated));
+        assertEquals(Arrays.asList(true, false), terminated); // false: possibly a torn write
+
+        assertEquals(Arrays.asList(Arrays.asList("a", "unterminated")), parse("a,\"unterminated"));
+    }
+
+    @Test
+    public void blankLinesAndEmptyTrailingFields() {
+        assertEquals(Arrays.asList(
+                Arrays.asList("a", ""),
+                Arrays.asList(""),
+                Arrays.asList("", "", "")),
+                parse("a,\n\n,,\n"));
+    }
+
+    @Test
+    public void longFieldsGrowTheScratchArray() {
+        StringBuilder big = new StringBuilder();
+        for (int i = 0; i < 1000; i++) big.append("é\"").append(i);
+        String quoted = "\"" + big.toString().replace("\"", "\"\"") + "\"";
+        assertEquals(Arrays.asList(Arrays.asList(big.toString(), "x")), parse(quoted + ",x\n"));
+    }
+
+    @Test
+    public void intValueParsesPlainDecimals() {
+        assertEquals(2021, intValue("2021"));
+        assertEquals(42, intValue(" 42 "));
+        assertEquals(7, intValue("+7"));
+        assertEquals(-15, intValue("-15"));
+        assertEquals(Integer.MAX_VALUE, intValue("2147483647"));
+        assertEquals(Integer.MIN_VALUE, intValue("-2147483648"));
+        assertEquals(1999, intValue("\"1999\""));
+    }
+
+    @Test
+    public void intValueRejectsBadInput() {
+        for (String bad : new String[] {"", " ", "-", "+", "12a", "1 2", "20.5", "0x10", "2147483648",
+                "-2147483649", "99999999999999999999", "٣"}) {
+            try {
+                int v = intValue(bad);
+                fail("'" + bad + "' parsed as " + v);
+            } catch (NumberFormatException expected) {
+                // rejected
+            }
+        }
+    }
+
+    @Test
+    public void fromAsciiIgnoresCaseAndOuterSpaces() {
+        assertEquals(ProficiencyLevel.EXPERT, level("EXPERT"));
+        assertEquals(ProficiencyLevel.BEGINNER, level("beginner"));
+        assertEquals(ProficiencyLevel.INTERMEDIATE, level(" Intermediate "));
+        assertEquals(ProficiencyLevel.ADVANCED, level("aDvAnCeD"));
+    }
+
+    @Test
+    public void fromAsciiRejectsBadInput() {
+        for (String bad : new String[] {"", " ", "NOPE", "EXPERTS", "EXPER", "EX PERT", "ÉXPERT", "EXPERT\u0000"}) {
+            try {
+                ProficiencyLevel p = level(bad);
+                fail("'" + bad + "' decoded as " + p);
+            } catch (IllegalArgumentException expected) {
+                // rejected
+            }
+        }
+    }
+}
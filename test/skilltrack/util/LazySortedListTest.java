@@ -0,0 +1,78 @@
+package skilltrack.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+// LazySortedList read in different orders (crossing its TopK prefixes and the switch to a
+// full sort) against a fully, stably sorted copy
+public class LazySortedListTest {
+
+    private static final Comparator<int[]> BY_KEY = Comparator.comparingInt(e -> e[0]);
+
+    private static List<int[]> input(int n, int distinctKeys, long seed) {
+        Random rnd = new Random(seed);
+        List<int[]> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(new int[] {rnd.nextInt(distinctKeys), i});
+        return out;
+    }
+
+    private static void check(List<int[]> in, int[] readOrder) {
+        List<int[]> expected = new ArrayList<>(in);
+        expected.sort(BY_KEY);
+        LazySortedList<int[]> view = new LazySortedList<>(in, BY_KEY);
+        assertEquals(in.size(), view.size());
+        for (int i : readOrder) {
+            assertSame("n=" + in.size() + " at " + i, expected.get(i), view.get(i));
+        }
+    }
+
+    private static int[] ascending(int n) {
+        int[] out = new int[n];
+        for (int i = 0; i < n; i++) out[i] = i;
+        return out;
+    }
+
+    @Test
+    public void everyReadOrderSeesTheStableSort() {
+        for (int n : new int[] {1, 10, 255, 256, 257, 1100, 20000}) {
+            for (int keys : new int[] {1, 7, n}) {
+                List<int[]> in = input(n, keys, n + keys);
+                check(in, ascending(n));
+
+                int[] backwards = new int[n];
+                for (int i = 0; i < n; i++) backwards[i] = n - 1 - i;
+                check(in, backwards);
+
+                // first screens, then a jump past each prefix size
+                Random rnd = new Random(n);
+                int[] jumps = new int[Math.min(n, 3000)];
+                for (int i = 0; i < jumps.length; i++) {
+                    jumps[i] = i < 300 ? i : rnd.nextInt(Math.min(n, 1 << (9 + i % 6)));
+                }
+                check(in, jumps);
+            }
+        }
+    }
+
+    @Test
+    public void emptyAndOutOfRange() {
+        LazySortedList<int[]> empty = new LazySortedList<>(new ArrayList<>(), BY_KEY);
+        assertEquals(0, empty.size());
+        assertTrue(empty.isEmpty());
+
+        LazySortedList<int[]> view = new LazySortedList<>(input(5, 2, 1), BY_KEY);
+        for (int bad : new int[] {-1, 5}) {
+            try {
+                view.get(bad);
+                fail("read at " + bad);
+            } catch (IndexOutOfBoundsException expected) {
+                // rejected
+            }
+        }
+    }
+}
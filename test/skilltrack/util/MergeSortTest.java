@@ -0,0 +1,108 @@
+package skilltrack.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+// MergeSort against List.sort (also stable): same order, ties included, on both sides of
+// the insertion-sort and parallel cut-offs, with one worker thread and with several
+public class MergeSortTest {
+
+    private static ForkJoinPool single;
+    private static ForkJoinPool several;
+
+    @BeforeClass
+    public static void startPools() {
+        single = new ForkJoinPool(1);
+        several = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void stopPools() {
+        single.shutdown();
+        several.shutdown();
+    }
+
+    // {key, position in the input}; only the key is compared, so equal keys keep their order
+    // only if the sort is stable
+    private static final Comparator<int[]> BY_KEY = Comparator.comparingInt(e -> e[0]);
+
+    private static int[][] input(int n, int distinctKeys, Random rnd) {
+        int[][] a = new int[n][];
+        for (int i = 0; i < n; i++) a[i] = new int[] {rnd.nextInt(distinctKeys), i};
+        return a;
+    }
+
+    private static void check(int[][] input, ForkJoinPool pool) {
+        List<int[]> expected = new ArrayList<>(Arrays.asList(input));
+        expected.sort(BY_KEY);
+
+        int[][] actual = input.clone();
+        MergeSort.sort(actual, BY_KEY, pool);
+
+        for (int i = 0; i < actual.length; i++) {
+            if (actual[i] != expected.get(i)) {
+                fail("n=" + input.length + ": at " + i + " expected " + Arrays.toString(expected.get(i))
+                        + " but was " + Arrays.toString(actual[i]));
+            }
+        }
+    }
+
+    private static int[] sizes() {
+        int ins = MergeSort.INSERTION_MAX;
+        int par = MergeSort.PARALLEL_MIN;
+        return new int[] {0, 1, 2, 3, ins - 1, ins, ins + 1, 2 * ins, 2 * ins + 1,
+                par - 1, par, par + 1, 2 * par - 1, 2 * par, 2 * par + 1, 5 * par + 7};
+    }
+
+    @Test
+    public void matchesListSortAroundTheCutOffs() {
+        Random rnd = new Random(16);
+        for (ForkJoinPool pool : new ForkJoinPool[] {single, several}) {
+            for (int n : sizes()) {
+                check(input(n, 5, rnd), pool);              // mostly ties
+                check(input(n, Math.max(1, n), rnd), pool); // few ties
+                check(input(n, 1, rnd), pool);              // all equal
+            }
+        }
+    }
+
+    @Test
+    public void matchesListSortOnOrderedInput() {
+        for (ForkJoinPool pool : new ForkJoinPool[] {single, several}) {
+            for (int n : sizes()) {
+                int[][] ascending = new int[n][];
+                int[][] descending = new int[n][];
+                int[][] sawtooth = new int[n][];
+                for (int i = 0; i < n; i++) {
+                    ascending[i] = new int[] {i / 3, i};
+                    descending[i] = new int[] {(n - i) / 3, i};
+                    sawtooth[i] = new int[] {i % 100, i};
+                }
+                check(ascending, pool);
+                check(descending, pool);
+                check(sawtooth, pool);
+            }
+        }
+    }
+
+    @Test
+    public void listVersionReturnsASortedCopy() {
+        List<int[]> in = Arrays.asList(input(3 * MergeSort.PARALLEL_MIN, 50, new Random(61)));
+        List<int[]> before = new ArrayList<>(in);
+        List<int[]> expected = new ArrayList<>(in);
+        expected.sort(BY_KEY);
+
+        List<int[]> out = MergeSort.sort(in, BY_KEY);
+        assertEquals(expected, out); // int[] equality is identity, so this checks the order of ties
+        assertEquals(before, in);
+    }
+}
@@ -0,0 +1,194 @@
+package skilltrack.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+// PrefixTrie completion, removal and fuzzy lookup against a sorted count of the words it
+// should hold (and a plain edit-distance table)
+public class PrefixTrieTest {
+
+    private static final String[] WORDS = {"java", "javascript", "jav", "kotlin", "kube", "kubernetes",
+            "go", "golang", "Go Lang", "ruby", "rust", "r"};
+
+    // What the trie should hold: normalized word -> copies / display form (first copy added)
+    private final TreeMap<String, Integer> counts = new TreeMap<>();
+    private final HashMap<String, String> display = new HashMap<>();
+    private final PrefixTrie trie = new PrefixTrie();
+
+    private void add(String word) {
+        trie.add(word);
+        String key = PrefixTrie.normalize(word);
+        if (counts.merge(key, 1, Integer::sum) == 1) display.put(key, word.trim());
+    }
+
+    private void remove(String word) {
+        trie.remove(word);
+        String key = PrefixTrie.normalize(word);
+        if (counts.containsKey(key) && counts.merge(key, -1, Integer::sum) == 0) counts.remove(key);
+    }
+
+    private List<String> expectedCompletions(String prefix, int k) {
+        List<String> out = new ArrayList<>();
+        String p = PrefixTrie.normalize(prefix);
+        for (String key : counts.keySet()) {
+            if (out.size() >= k) break;
+            if (key.startsWith(p)) out.add(display.get(key));
+        }
+        return out;
+    }
+
+    private void checkCompletions() {
+        for (String prefix : new String[] {"", "j", "JAV", " java ", "javas", "k", "kub", "g", "go ", "r", "ru", "x", "javascripts"}) {
+            for (int k : new int[] {0, 1, 2, 3, 100}) {
+                assertEquals("'" + prefix + "' k=" + k, expectedCompletions(prefix, k), trie.complete(prefix, k));
+            }
+        }
+        for (String w : WORDS) assertEquals(w, counts.containsKey(PrefixTrie.normalize(w)), trie.contains(w));
+    }
+
+    // Nodes a trie holding exactly these words needs: one per distinct prefix, plus the root
+    private int expectedNodes() {
+        HashSet<String> prefixes = new HashSet<>();
+        for (String key : counts.keySet()) {
+            for (int i = 1; i <= key.length(); i++) prefixes.add(key.substring(0, i));
+        }
+        return prefixes.size() + 1;
+    }
+
+    private static int distance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    // "key:distance" for every stored word within max edits, closest first, ties alphabetical
+    private List<String> expectedFuzzy(String word, int max) {
+        List<String> out = new ArrayList<>();
+        String q = PrefixTrie.normalize(word);
+        for (int d = 0; d <= max; d++) {
+            for (String key : counts.keySet()) {
+                if (distance(q, key) == d) out.add(key + ":" + d);
+            }
+        }
+        return out;
+    }
+
+    private List<String> fuzzy(String word, int max) {
+        List<String> out = new ArrayList<>();
+        for (PrefixTrie.Match m : trie.fuzzy(word, max)) out.add(m.key + ":" + m.distance);
+        return out;
+    }
+
+    @Test
+    public void fuzzyMatchesEditDistanceUpToTwo() {
+        for (String w : WORDS) add(w);
+        assertEquals(Arrays.asList("java:0"), fuzzy(" JAVA", 0));
+        assertEquals(Arrays.asList("jav:1", "java:1"), fuzzy("javx", 1)); // a deletion, a substitution
+        assertEquals(Arrays.asList("kube:1"), fuzzy("kub", 1));
+        assertTrue(fuzzy("javascrpit", 1).isEmpty());                    // a swap is two edits
+        assertEquals(Arrays.asList("javascript:2"), fuzzy("javascrpit", 2));
+        assertTrue(fuzzy("java", -1).isEmpty());
+
+        Random rnd = new Random(12);
+        String letters = "abgijklnorstuv ";
+        for (int i = 0; i < 400; i++) {
+            // a stored word with up to three random edits, or random letters
+            StringBuilder q = new StringBuilder(i % 5 == 0 ? "" : PrefixTrie.normalize(WORDS[rnd.nextInt(WORDS.length)]));
+            int edits = i % 5 == 0 ? 1 + rnd.nextInt(8) : rnd.nextInt(4);
+            for (int e = 0; e < edits; e++) {
+                int at = q.length() == 0 ? 0 : rnd.nextInt(q.length());
+                char c = letters.charAt(rnd.nextInt(letters.length()));
+                switch (q.length() == 0 ? 0 : rnd.nextInt(3)) {
+                    case 0: q.insert(at, c); break;
+                    case 1: q.deleteCharAt(at); break;
+                    default: q.setCharAt(at, c); break;
+                }
+            }
+            for (int max = 0; max <= 2; max++) {
+                assertEquals("'" + q + "' within " + max, expectedFuzzy(q.toString(), max), fuzzy(q.toString(), max));
+            }
+            if (i == 200) {
+                remove("golang");
+                remove("kube");
+                add("Kotlinx");
+            }
+        }
+    }
+
+    @Test
+    public void completionIsAlphabeticalAndLimited() {
+        for (String w : WORDS) add(w);
+        add("JAVA");      // same word again: first display form kept
+        add("  Kotlin ");
+        checkCompletions();
+        assertEquals(Arrays.asList("jav", "java", "javascript"), trie.complete("ja", 5));
+        assertEquals(Arrays.asList("go", "Go Lang", "golang"), trie.complete("GO", 5));
+    }
+
+    @Test
+    public void removingTheLastCopyPrunesOnlyUnusedNodes() {
+        for (String w : WORDS) add(w);
+        add("java");
+        assertEquals(expectedNodes(), trie.nodeCount());
+
+        remove("javascript"); // pruned back to "java", which still holds a word
+        assertEquals(expectedNodes(), trie.nodeCount());
+        assertTrue(trie.contains("java"));
+        assertEquals(Arrays.asList("java"), trie.complete("java", 5));
+
+        remove("jav");        // a word on the path to "java": the node stays, its word goes
+        assertEquals(expectedNodes(), trie.nodeCount());
+        assertFalse(trie.contains("jav"));
+        assertEquals(Arrays.asList("java"), trie.complete("jav", 5));
+
+        remove("JAVA");       // one of two copies
+        assertTrue(trie.contains("java"));
+        remove("java");
+        assertFalse(trie.contains("java"));
+        assertEquals(expectedNodes(), trie.nodeCount());
+        assertTrue(trie.complete("j", 5).isEmpty());
+
+        remove("java");       // not there any more: no change
+        remove("nothing");
+        remove("");
+        assertEquals(expectedNodes(), trie.nodeCount());
+        checkCompletions();
+
+        add("Java");          // display form of a word re-added after removal
+        assertEquals(Arrays.asList("Java"), trie.complete("j", 5));
+    }
+
+    @Test
+    public void randomAddsAndRemovesMatchACount() {
+        Random rnd = new Random(11);
+        for (int i = 0; i < 3000; i++) {
+            String w = WORDS[rnd.nextInt(WORDS.length)];
+            if (rnd.nextBoolean()) w = w.toUpperCase();
+            if (rnd.nextInt(3) == 0) remove(w);
+            else add(w);
+            if (i % 100 == 0) {
+                checkCompletions();
+                assertEquals(expectedNodes(), trie.nodeCount());
+            }
+        }
+        for (String w : WORDS) {
+            while (trie.contains(w)) remove(w);
+        }
+        assertEquals(1, trie.nodeCount());
+    }
+}
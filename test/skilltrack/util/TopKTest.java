@@ -0,0 +1,98 @@
+package skilltrack.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+// topK / page against slicing a fully, stably sorted copy: ties must come out in input order
+public class TopKTest {
+
+    // {key, position in the input}; only the key is compared
+    private static final Comparator<int[]> BY_KEY = Comparator.comparingInt(e -> e[0]);
+
+    private static List<int[]> input(int n, int distinctKeys, Random rnd) {
+        List<int[]> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(new int[] {rnd.nextInt(distinctKeys), i});
+        return out;
+    }
+
+    private static List<int[]> sorted(List<int[]> input) {
+        List<int[]> out = new ArrayList<>(input);
+        out.sort(BY_KEY);
+        return out;
+    }
+
+    // Elements are compared by identity (int[] equals), so the order of ties is checked too
+    private static void assertSlice(String what, List<int[]> expected, List<int[]> actual) {
+        assertEquals(what + " size", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            if (expected.get(i) != actual.get(i)) {
+                fail(what + ": at " + i + " expected " + Arrays.toString(expected.get(i))
+                        + " but was " + Arrays.toString(actual.get(i)));
+            }
+        }
+    }
+
+    @Test
+    public void topKIsAPrefixOfTheStableSort() {
+        Random rnd = new Random(17);
+        for (int n : new int[] {0, 1, 2, 10, 300, 5000}) {
+            for (int keys : new int[] {1, 3, Math.max(1, n)}) {
+                List<int[]> in = input(n, keys, rnd);
+                List<int[]> all = sorted(in);
+                for (int k : new int[] {0, 1, 2, n / 4, n / 2, n - 1, n, n + 5}) {
+                    if (k < 0) continue;
+                    assertSlice("n=" + n + " keys=" + keys + " k=" + k,
+                            all.subList(0, Math.min(k, n)), TopK.topK(in, BY_KEY, k));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void pagesAreSlicesOfTheStableSort() {
+        Random rnd = new Random(18);
+        for (int n : new int[] {0, 1, 25, 1000}) {
+            List<int[]> in = input(n, 4, rnd);
+            List<int[]> all = sorted(in);
+            for (int offset : new int[] {0, 1, n / 3, n - 7, n - 1, n, n + 10}) {
+                if (offset < 0) continue;
+                for (int limit : new int[] {0, 1, 7, 50, n, Integer.MAX_VALUE}) {
+                    int from = Math.min(offset, n);
+                    int to = (int) Math.min((long) offset + limit, n);
+                    assertSlice("n=" + n + " page " + offset + "+" + limit,
+                            all.subList(from, Math.max(from, to)), TopK.page(in, BY_KEY, offset, limit));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void consecutivePagesCoverTheSortOnce() {
+        List<int[]> in = input(997, 5, new Random(19));
+        List<int[]> pages = new ArrayList<>();
+        for (int offset = 0; offset < in.size(); offset += 50) pages.addAll(TopK.page(in, BY_KEY, offset, 50));
+        assertSlice("all pages", sorted(in), pages);
+    }
+
+    @Test
+    public void negativeArgumentsAreRejected() {
+        List<int[]> in = input(10, 3, new Random(20));
+        for (Runnable call : new Runnable[] {
+                () -> TopK.topK(in, BY_KEY, -1),
+                () -> TopK.page(in, BY_KEY, -1, 5),
+                () -> TopK.page(in, BY_KEY, 0, -5)}) {
+            try {
+                call.run();
+                fail("negative argument accepted");
+            } catch (IllegalArgumentException expected) {
+                // rejected
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package skilltrack.view;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import javax.swing.event.TableModelEvent;
+import skilltrack.model.ProficiencyLevel;
+import skilltrack.model.Skill;
+import skilltrack.model.SkillBatch;
+import skilltrack.model.SkillStore;
+import skilltrack.model.StoreFolder;
+
+import static org.junit.Assert.*;
+
+// Store change events applied to the table model, as AdminDashboardPanel does
+public class SkillTableModelTest {
+
+    @Rule
+    public final StoreFolder data = new StoreFolder();
+    private SkillStore store;
+    private final SkillTableModel model = new SkillTableModel();
+    private boolean reloadRequested;
+
+    @Before
+    public void setUp() {
+        store = data.open();
+
+        store.addSkill(skill("a", "Java", "Languages"));
+        store.addSkill(skill("b", "Docker", "Cloud"));
+        store.addSkill(skill("c", "SQL", "Data"));
+        store.addChangeListener(events -> events.forEach(e -> {
+            if (!model.apply(e)) reloadRequested = true;
+        }));
+    }
+
+    private static Skill skill(String id, String name, String category) {
+        return new Skill(id, name, category, ProficiencyLevel.BEGINNER, 2021, null);
+    }
+
+    private String categories() {
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < model.getRowCount(); r++) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(model.getValueAt(r, 2));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void sortedViewFollowsEdits() {
+        model.showSorted(store.snapshot(), Comparator.comparing(Skill::getCategoryKey));
+        assertEquals("Cloud,Data,Languages", categories());
+
+        store.updateSkill("a", skill("a", "Java", "Backend"));
+        assertEquals("Backend,Cloud,Data", categories());
+
+        store.deleteSkill("b");
+        assertEquals("Backend,Data", categories());
+
+        store.addSkill(skill("d", "Go", "Aardvark"));
+        assertEquals("Aardvark,Backend,Data", categories());
+        assertFalse(reloadRequested);
+    }
+
+    private void assertRowsFoundById() {
+        for (int r = 0; r < model.getRowCount(); r++) {
+            assertEquals(model.getAt(r).getId(), r, model.rowOf(model.getAt(r).getId()));
+        }
+    }
+
+    @Test
+    public void sortedViewFindsSkillsAgainAfterARebuild() {
+        for (int i = 0; i < 40; i++) store.addSkill(skill("t" + i, "Tied " + i, i % 2 == 0 ? "Data" : "Misc"));
+        Comparator<Skill> byCategory = Comparator.comparing(Skill::getCategoryKey);
+        model.showSorted(store.snapshot(), byCategory.reversed());
+        assertTrue(model.isSortedView());
+        assertRowsFoundById(); // ties come out in snapshot order
+
+        // what the panel keeps selected: an edited skill moves, a deleted one is gone
+        store.updateSkill("a", skill("a", "Java", "Zoo"));
+        assertEquals(0, model.rowOf("a"));
+        store.updateSkill("t7", skill("t7", "Tied 7", "Data"));
+        assertEquals("t7", model.getAt(model.rowOf("t7")).getId());
+        store.deleteSkill("t8");
+        assertEquals(-1, model.rowOf("t8"));
+        assertEquals(-1, model.rowOf("nothing"));
+        assertRowsFoundById();
+
+        model.setData(List.of(store.findByName("sql"), store.findByName("docker")));
+        assertFalse(model.isSortedView());
+        assertEquals(1, model.rowOf("b"));
+        assertFalse(reloadRequested);
+    }
+
+    // Tracks the row count the way JTable does: from insert / delete events alone
+    private int[] trackRowCount() {
+        int[] rows = {model.getRowCount()};
+        model.addTableModelListener(e -> {
+            if (e.getFirstRow() == TableModelEvent.HEADER_ROW || e.getLastRow() == Integer.MAX_VALUE) {
+                rows[0] = model.getRowCount();
+                return;
+            }
+            int n = e.getLastRow() - e.getFirstRow() + 1;
+            if (e.getType() == TableModelEvent.UPDATE) return;
+            rows[0] += e.getType() == TableModelEvent.INSERT ? n : -n;
+            assertEquals("rows after " + e.getType() + " " + e.getFirstRow(), model.getRowCount(), rows[0]);
+        });
+        return rows;
+    }
+
+    @Test
+    public void liveTableStaysConsistentThroughBatches() {
+        model.showLive(store.snapshot());
+        int[] rows = trackRowCount();
+
+        store.deleteSkill("a");
+        assertEquals(2, rows[0]);
+
+        List<Skill> more = new ArrayList<>();
+        for (int i = 0; i < 5; i++) more.add(skill("n" + i, "New " + i, "Misc"));
+        store.addAll(more);
+        assertEquals(7, rows[0]);
+
+        store.apply(new SkillBatch().delete("n4").delete("b").delete("n0"));
+        assertEquals(4, rows[0]);
+        assertEquals(store.totalSkills(), model.getRowCount());
+        for (int r = 0; r < model.getRowCount(); r++) {
+            assertSame(store.snapshot().get(r), model.getAt(r));
+        }
+
+        store.undo();
+        assertEquals(7, rows[0]);
+        assertFalse(reloadRequested);
+    }
+}